@@ -1,6 +1,8 @@
 package com.project.hemolink.api_gateway.filters;
 
 import com.project.hemolink.api_gateway.services.JwtService;
+import com.project.hemolink.api_gateway.services.ParsedToken;
+import com.project.hemolink.api_gateway.services.TokenRevocationService;
 import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
@@ -14,10 +16,12 @@ import org.springframework.web.server.ServerWebExchange;
 public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
 
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public AuthenticationFilter(JwtService jwtService){
+    public AuthenticationFilter(JwtService jwtService, TokenRevocationService tokenRevocationService){
         super(Config.class);
         this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -45,18 +49,36 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
 
             final String token = tokenHeader.split("Bearer ")[1];
 
+            final String tokenHash = JwtService.tokenHash(token);
+            final ParsedToken verified;
             try {
-                String userId = jwtService.getUserIdFromToken(token);
-                ServerWebExchange modifiedExchange = exchange
-                        .mutate()
-                        .request(r -> r.header("X-User-Id", userId))
-                        .build();
-                return chain.filter(modifiedExchange);
+                verified = jwtService.verify(token, tokenHash);
             } catch (JwtException e){
                 log.error("JWT Exception: {}",e.getLocalizedMessage());
                 exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
                 return exchange.getResponse().setComplete();
             }
+
+            return tokenRevocationService.isRevoked(token, tokenHash)
+                    .flatMap(revoked -> {
+                        if (revoked) {
+                            log.error("Token has been revoked");
+                            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                            return exchange.getResponse().setComplete();
+                        }
+                        ServerWebExchange modifiedExchange = exchange
+                                .mutate()
+                                .request(r -> r.headers(headers -> {
+                                    // Replace anything the client sent with the verified identity
+                                    headers.set("X-User-Id", verified.subject());
+                                    headers.remove("X-User-Role");
+                                    if (verified.role() != null) {
+                                        headers.set("X-User-Role", verified.role());
+                                    }
+                                }))
+                                .build();
+                        return chain.filter(modifiedExchange);
+                    });
         };
     }
 
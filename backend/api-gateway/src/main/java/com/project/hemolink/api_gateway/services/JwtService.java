@@ -1,51 +1,117 @@
 package com.project.hemolink.api_gateway.services;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secretKey}")
-    private String jwtSecretKey;
+    private final JwtParser jwtParser;
 
-    private SecretKey getSecretKey(){
-        return Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+    // SHA-256 of the token -> claims verified from it, kept until the token expires.
+    // Revocation is checked by the caller on every request, never cached here.
+    private final Cache<String, ParsedToken> verifiedTokens;
+
+    public JwtService(@Value("${jwt.secretKey}") String jwtSecretKey,
+                      @Value("${jwt.claims-cache.max-size:10000}") int cacheMaxSize) {
+        this.jwtParser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    /**
+     * Verifies a token once and serves repeat lookups of the same token from memory
+     * until it expires
+     * @param token JWT token
+     * @return Subject, role, email and expiry of the token
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public ParsedToken verify(String token) {
+        return verify(token, tokenHash(token));
+    }
+
+    /**
+     * Same as {@link #verify(String)} for callers that already hashed the token
+     * @param token JWT token
+     * @param tokenHash Hash of the token from {@link #tokenHash(String)}
+     * @return Subject, role, email and expiry of the token
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public ParsedToken verify(String token, String tokenHash) {
+        return verifiedTokens.get(tokenHash, hash -> ParsedToken.of(parseClaims(token)));
     }
 
     public String getUserIdFromToken(String token){
-        Claims claims = Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return verify(token).subject();
     }
 
     public String getRoleFromToken(String token){
-        Claims claims = Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("role", String.class);
+        return verify(token).role();
     }
 
 //    method to get all claims at once
     public Map<String, Object> getAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parseClaims(token);
+    }
+
+    private Claims parseClaims(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Expires each cache entry at the expiry of its token; reads and rewrites leave it unchanged
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, ParsedToken> {
+        @Override
+        public long expireAfterCreate(String tokenHash, ParsedToken token, long currentTime) {
+            if (token.expiresAt() == null) {
+                return Long.MAX_VALUE;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiresAt().toEpochMilli() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenHash, ParsedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String tokenHash, ParsedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Hashes a token for use as a cache or revocation key without holding the token itself
+     * @param token JWT token
+     * @return Base64 encoded SHA-256 digest of the token
+     */
+    public static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,173 @@
+package com.project.hemolink.api_gateway.services;
+
+import com.project.hemolink.api_gateway.utils.BloomFilter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks access tokens against the logout blacklist kept in Redis by user-service.
+ * Hashes of revoked tokens are held in a local bloom filter, loaded by scanning the
+ * blacklist and kept current from the revocation channel user-service publishes to,
+ * so Redis is only queried for tokens the filter reports as possibly revoked.
+ * Revocations published while the subscription is down are missed, so until it is back
+ * and the filter has been reloaded every token is checked in Redis.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+    private static final String BLACKLIST_PREFIX = "blacklist:";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final String channel;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Duration rebuildInterval;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    private volatile BloomFilter revoked;
+    // Filters being loaded by rebuilds; live revocations go into them as well
+    private final Set<BloomFilter> loading = ConcurrentHashMap.newKeySet();
+    private final AtomicLong rebuilds = new AtomicLong();
+    // Rebuild whose filter is published; an older rebuild finishing later must not replace it
+    private long publishedRebuild;
+    // True once the subscription is up and the filter reloaded since it (re)connected
+    private volatile boolean subscribed;
+
+    public TokenRevocationService(ReactiveStringRedisTemplate redisTemplate,
+                                  @Value("${token-revocation.channel:token-revocations}") String channel,
+                                  @Value("${token-revocation.bloom.expected-revocations:100000}") long expectedRevocations,
+                                  @Value("${token-revocation.bloom.false-positive-rate:0.001}") double falsePositiveRate,
+                                  @Value("${token-revocation.rebuild-interval:1h}") Duration rebuildInterval) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    /**
+     * Subscribes to revocations, loading the filter each time the subscription is established,
+     * and reloads it periodically so entries of expired tokens are dropped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscriptions.add(redisTemplate.listenToChannelLater(channel)
+                // Once subscribed, reload the filter to pick up revocations missed while unsubscribed
+                .flatMap(messages -> Mono.when(
+                        messages.doOnNext(message -> onRevocation(message.getMessage())).then(),
+                        rebuild().doOnSuccess(ignored -> subscribed = true)))
+                .doOnTerminate(() -> subscribed = false)
+                .doOnCancel(() -> subscribed = false)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Token revocation subscription failed: {}",
+                                signal.failure().getMessage())))
+                .repeatWhen(completed -> completed.delayElements(Duration.ofSeconds(1)))
+                .subscribe());
+
+        subscriptions.add(Flux.interval(rebuildInterval, rebuildInterval)
+                .concatMap(tick -> rebuild()
+                        .onErrorResume(e -> {
+                            log.warn("Failed to load revoked tokens from Redis: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+
+    /**
+     * Checks whether a token has been logged out.
+     * While the filter is not loaded or may be missing revocations every token is checked in Redis.
+     * @param token JWT token
+     * @param tokenHash Hash of the token, see {@link JwtService#tokenHash(String)}
+     * @return True if the token is blacklisted
+     */
+    public Mono<Boolean> isRevoked(String token, String tokenHash) {
+        BloomFilter filter = revoked;
+        if (filter != null && subscribed) {
+            long[] hashes = hashes(tokenHash);
+            if (!filter.mightContain(hashes[0], hashes[1])) {
+                return Mono.just(false);
+            }
+        }
+        return redisTemplate.hasKey(BLACKLIST_PREFIX + token);
+    }
+
+    private Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+            long rebuild = rebuilds.incrementAndGet();
+            BloomFilter filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+            loading.add(filter);
+            return redisTemplate.scan(ScanOptions.scanOptions().match(BLACKLIST_PREFIX + "*").count(1000).build())
+                    .doOnNext(key -> put(filter, JwtService.tokenHash(key.substring(BLACKLIST_PREFIX.length()))))
+                    .count()
+                    .doOnNext(count -> {
+                        if (publish(rebuild, filter)) {
+                            log.info("Loaded {} revoked tokens", count);
+                        }
+                    })
+                    .doFinally(signal -> loading.remove(filter))
+                    .then();
+        });
+    }
+
+    private synchronized boolean publish(long rebuild, BloomFilter filter) {
+        if (rebuild < publishedRebuild) {
+            return false;
+        }
+        publishedRebuild = rebuild;
+        revoked = filter;
+        return true;
+    }
+
+    private void onRevocation(String tokenHash) {
+        try {
+            add(tokenHash);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed token revocation: {}", tokenHash);
+        }
+    }
+
+    private void add(String tokenHash) {
+        // Fill loading filters first: a rebuild publishes its filter before dropping it from loading
+        for (BloomFilter next : loading) {
+            put(next, tokenHash);
+        }
+        BloomFilter current = revoked;
+        if (current != null) {
+            put(current, tokenHash);
+        }
+    }
+
+    private static void put(BloomFilter filter, String tokenHash) {
+        long[] hashes = hashes(tokenHash);
+        filter.put(hashes[0], hashes[1]);
+    }
+
+    private static long[] hashes(String tokenHash) {
+        ByteBuffer digest = ByteBuffer.wrap(Base64.getDecoder().decode(tokenHash));
+        return new long[]{digest.getLong(), digest.getLong()};
+    }
+}
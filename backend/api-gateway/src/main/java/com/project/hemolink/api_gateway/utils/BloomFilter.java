@@ -0,0 +1,61 @@
+package com.project.hemolink.api_gateway.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bloom filter over pre-hashed items.
+ * Callers supply two independent 64-bit hashes per item (e.g. halves of a SHA-256
+ * digest); probe positions are derived from them by double hashing.
+ * Items cannot be removed, so filters are rebuilt from the source of truth periodically.
+ */
+public class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Sizes a filter for the expected number of items and false positive rate
+     * @param expectedInsertions Number of items the filter should hold
+     * @param falsePositiveRate Target false positive rate once full, e.g. 0.001
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * Adds an item
+     * @param hash1 First hash of the item
+     * @param hash2 Second hash of the item
+     */
+    public void put(long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, added) -> current | added);
+            }
+        }
+    }
+
+    /**
+     * Checks whether an item may have been added
+     * @param hash1 First hash of the item
+     * @param hash2 Second hash of the item
+     * @return False if the item was definitely never added
+     */
+    public boolean mightContain(long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,106 @@
+package com.project.hemolink.api_gateway.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveSubscription.ChannelMessage;
+import org.springframework.data.redis.connection.ReactiveSubscription.Message;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+    private static final String CHANNEL = "token-revocations";
+
+    private final ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+    private final Sinks.Many<Message<String, String>> messages = Sinks.many().multicast().onBackpressureBuffer();
+    // Blacklist keys in Redis
+    private final Set<String> blacklist = ConcurrentHashMap.newKeySet();
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        blacklist.add("blacklist:logged-out");
+        AtomicInteger subscriptions = new AtomicInteger();
+        // The first subscription succeeds; reconnects after it drops never complete
+        doReturn(Mono.defer(() -> subscriptions.getAndIncrement() == 0
+                ? Mono.just(messages.asFlux())
+                : Mono.never()))
+                .when(redisTemplate).listenToChannelLater(CHANNEL);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> Flux.fromIterable(blacklist));
+        when(redisTemplate.hasKey(anyString()))
+                .thenAnswer(invocation -> Mono.just(blacklist.contains(invocation.<String>getArgument(0))));
+        service = new TokenRevocationService(redisTemplate, CHANNEL, 1000, 0.001, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void isRevoked_checksRedisForEveryTokenBeforeSubscribing() {
+        assertFalse(isRevoked("active"));
+        assertTrue(isRevoked("logged-out"));
+
+        verify(redisTemplate).hasKey("blacklist:active");
+    }
+
+    @Test
+    void isRevoked_answersTokensOutsideFilterWithoutRedis() {
+        service.start();
+
+        assertFalse(isRevoked("active"));
+        assertTrue(isRevoked("logged-out"));
+
+        verify(redisTemplate, never()).hasKey("blacklist:active");
+        verify(redisTemplate).hasKey("blacklist:logged-out");
+    }
+
+    @Test
+    void isRevoked_seesRevocationsPublishedAfterLoading() {
+        service.start();
+
+        blacklist.add("blacklist:later");
+        messages.tryEmitNext(revocation("later"));
+
+        assertTrue(isRevoked("later"));
+        verify(redisTemplate).hasKey("blacklist:later");
+    }
+
+    @Test
+    void isRevoked_fallsBackToRedisWhileSubscriptionIsDown() {
+        service.start();
+        assertFalse(isRevoked("active"));
+        verify(redisTemplate, never()).hasKey("blacklist:active");
+
+        messages.tryEmitError(new IllegalStateException("connection lost"));
+
+        // Revocations published now would be missed by the filter
+        blacklist.add("blacklist:missed");
+        assertTrue(isRevoked("missed"));
+        assertFalse(isRevoked("active"));
+        verify(redisTemplate).hasKey("blacklist:missed");
+        verify(redisTemplate).hasKey("blacklist:active");
+    }
+
+    private boolean isRevoked(String token) {
+        return Boolean.TRUE.equals(service.isRevoked(token, JwtService.tokenHash(token)).block());
+    }
+
+    private static Message<String, String> revocation(String token) {
+        return new ChannelMessage<>(CHANNEL, JwtService.tokenHash(token));
+    }
+}
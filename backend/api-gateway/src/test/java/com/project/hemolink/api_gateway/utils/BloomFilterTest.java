@@ -0,0 +1,67 @@
+package com.project.hemolink.api_gateway.utils;
+
+import com.project.hemolink.api_gateway.services.JwtService;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+    private static final int EXPECTED = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void mightContain_neverMissesAnAddedItem() {
+        BloomFilter filter = new BloomFilter(EXPECTED, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < EXPECTED; i++) {
+            put(filter, "revoked-" + i);
+        }
+
+        for (int i = 0; i < EXPECTED; i++) {
+            assertTrue(mightContain(filter, "revoked-" + i), "false negative for item " + i);
+        }
+    }
+
+    @Test
+    void mightContain_staysNearConfiguredFalsePositiveRateWhenFull() {
+        BloomFilter filter = new BloomFilter(EXPECTED, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < EXPECTED; i++) {
+            put(filter, "revoked-" + i);
+        }
+
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (mightContain(filter, "valid-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate <= FALSE_POSITIVE_RATE * 1.5, "false positive rate " + rate);
+    }
+
+    @Test
+    void mightContain_isFalseForEmptyFilter() {
+        BloomFilter filter = new BloomFilter(EXPECTED, FALSE_POSITIVE_RATE);
+
+        assertFalse(mightContain(filter, "valid"));
+    }
+
+    // Hashes items the way TokenRevocationService does: the two halves of a token's SHA-256
+    private static void put(BloomFilter filter, String token) {
+        ByteBuffer digest = digest(token);
+        filter.put(digest.getLong(), digest.getLong());
+    }
+
+    private static boolean mightContain(BloomFilter filter, String token) {
+        ByteBuffer digest = digest(token);
+        return filter.mightContain(digest.getLong(), digest.getLong());
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(Base64.getDecoder().decode(JwtService.tokenHash(token)));
+    }
+}
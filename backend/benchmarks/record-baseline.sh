@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Runs the full JMH suite and stores the results as a new baseline in results/,
+# next to a description of the JDK and hardware the run used.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+name="results/$(date +%F)-$(git rev-parse --short HEAD)"
+
+(cd ../user-service && ./mvnw -B -q install -DskipTests)
+(cd ../matching-service && ./mvnw -B -q install -DskipTests)
+./mvnw -B -q package
+
+{
+    echo "commit: $(git rev-parse HEAD)"
+    echo "date: $(date -u +%FT%TZ)"
+    echo "jdk:"
+    java -version 2>&1 | sed 's/^/  /'
+    echo "os: $(uname -srm)"
+    if command -v lscpu > /dev/null; then
+        echo "cpu: $(lscpu | sed -n 's/^Model name: *//p')"
+    elif command -v sysctl > /dev/null; then
+        echo "cpu: $(sysctl -n machdep.cpu.brand_string)"
+    fi
+    echo "cores: $(getconf _NPROCESSORS_ONLN)"
+    if [ -r /proc/meminfo ]; then
+        echo "memory: $(sed -n 's/^MemTotal: *//p' /proc/meminfo)"
+    fi
+} > "$name.env.txt"
+
+java -jar target/benchmarks.jar -rf json -rff "$name.json" "$@"
+echo "Baseline written to $name.json, environment to $name.env.txt"
@@ -0,0 +1,48 @@
+package com.project.hemolink.benchmarks;
+
+import com.project.hemolink.user_service.entities.enums.BloodType;
+import com.project.hemolink.user_service.services.BloodTypeCompatibilityService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compatibility lookups over all 64 donor/recipient pairs
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BloodTypeCompatibilityBenchmark {
+    private static final BloodType[] TYPES = BloodType.values();
+
+    private final BloodTypeCompatibilityService compatibilityService = new BloodTypeCompatibilityService();
+
+    @Benchmark
+    public void compatibleTypeListContains(Blackhole blackhole) {
+        for (BloodType recipient : TYPES) {
+            for (BloodType donor : TYPES) {
+                blackhole.consume(compatibilityService.getCompatibleBloodTypes(recipient).contains(donor));
+            }
+        }
+    }
+
+    @Benchmark
+    public void isCompatibleMask(Blackhole blackhole) {
+        for (BloodType recipient : TYPES) {
+            for (BloodType donor : TYPES) {
+                blackhole.consume(compatibilityService.isCompatible(donor, recipient));
+            }
+        }
+    }
+
+    @Benchmark
+    public void donorMaskLookup(Blackhole blackhole) {
+        for (BloodType recipient : TYPES) {
+            blackhole.consume(compatibilityService.getCompatibleDonorMask(recipient));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.hemolink.benchmarks;
+
+import com.project.hemolink.user_service.dto.PointDTO;
+import com.project.hemolink.user_service.utils.GeometryUtil;
+import org.locationtech.jts.geom.Point;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point construction and great-circle distance
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryBenchmark {
+    private final PointDTO pointDTO = new PointDTO(new double[]{77.2, 28.6});
+    private double lat1 = 28.6;
+    private double lon1 = 77.2;
+    private double lat2 = 19.07;
+    private double lon2 = 72.87;
+
+    @Benchmark
+    public Point createPoint() {
+        return GeometryUtil.createPoint(pointDTO);
+    }
+
+    @Benchmark
+    public double haversineKm() {
+        return GeometryUtil.haversineKm(lat1, lon1, lat2, lon2);
+    }
+}
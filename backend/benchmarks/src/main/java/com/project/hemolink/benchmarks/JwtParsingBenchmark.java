@@ -0,0 +1,73 @@
+package com.project.hemolink.benchmarks;
+
+import com.project.hemolink.matching_service.security.ParsedToken;
+import com.project.hemolink.user_service.entities.User;
+import com.project.hemolink.user_service.entities.enums.UserRole;
+import com.project.hemolink.user_service.services.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token parsing as done on every authenticated request: the previous
+ * per-call key and parser construction with one verification per claim, against
+ * a single verification with the key and parser built once
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParsingBenchmark {
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private JwtService userJwtService;
+    private com.project.hemolink.matching_service.security.JwtService matchingJwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        userJwtService = new JwtService(SECRET);
+        matchingJwtService = new com.project.hemolink.matching_service.security.JwtService(SECRET);
+
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email("hospital@example.com")
+                .role(UserRole.HOSPITAL)
+                .build();
+        token = userJwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String legacyUserIdAndRole() {
+        // What matching-service's JwtAuthFilter did per request before: two full verifications
+        return legacyClaims(token).getSubject() + legacyClaims(token).get("role", String.class);
+    }
+
+    @Benchmark
+    public String parsedTokenUserIdAndRole() {
+        ParsedToken parsedToken = matchingJwtService.parse(token);
+        return parsedToken.subject() + parsedToken.role();
+    }
+
+    @Benchmark
+    public com.project.hemolink.user_service.services.ParsedToken userServiceParse() {
+        return userJwtService.parse(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,133 @@
+package com.project.hemolink.benchmarks;
+
+import com.project.hemolink.matching_service.dto.BloodRequestDto;
+import com.project.hemolink.matching_service.entities.BloodRequest;
+import com.project.hemolink.matching_service.entities.enums.RequestStatus;
+import com.project.hemolink.matching_service.entities.enums.UrgencyLevel;
+import com.project.hemolink.matching_service.mappers.BloodRequestMapper;
+import com.project.hemolink.matching_service.mappers.BloodRequestMapperImpl;
+import com.project.hemolink.user_service.dto.DonorMatchDto;
+import com.project.hemolink.user_service.entities.Donor;
+import com.project.hemolink.user_service.entities.User;
+import com.project.hemolink.user_service.entities.enums.BloodType;
+import com.project.hemolink.user_service.entities.enums.UserRole;
+import com.project.hemolink.user_service.mappers.DonorMapper;
+import com.project.hemolink.user_service.mappers.DonorMapperImpl;
+import com.project.hemolink.user_service.mappers.UserMapperImpl;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping: the reflective ModelMapper setup the services used before
+ * against the generated MapStruct mappers that replaced it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+
+    private ModelMapper matchingModelMapper;
+    private ModelMapper userModelMapper;
+    private BloodRequestMapper bloodRequestMapper;
+    private DonorMapper donorMapper;
+    private BloodRequest bloodRequest;
+    private Donor donor;
+
+    @Setup
+    public void setUp() {
+        matchingModelMapper = legacyMatchingModelMapper();
+        userModelMapper = legacyUserModelMapper();
+        bloodRequestMapper = new BloodRequestMapperImpl(new com.project.hemolink.matching_service.mappers.GeometryMapperImpl());
+        donorMapper = new DonorMapperImpl(new com.project.hemolink.user_service.mappers.GeometryMapperImpl(), new UserMapperImpl());
+
+        bloodRequest = new BloodRequest();
+        bloodRequest.setId(UUID.randomUUID());
+        bloodRequest.setHospitalId(UUID.randomUUID().toString());
+        bloodRequest.setHospitalName("City Hospital");
+        bloodRequest.setBloodType(com.project.hemolink.matching_service.entities.enums.BloodType.O_NEGATIVE);
+        bloodRequest.setUnitsRequired(3);
+        bloodRequest.setUrgency(UrgencyLevel.HIGH);
+        bloodRequest.setLocation(GEOMETRY_FACTORY.createPoint(new Coordinate(77.2, 28.6)));
+        bloodRequest.setCreatedAt(LocalDateTime.now());
+        bloodRequest.setExpiryTime(LocalDateTime.now().plusHours(6));
+        bloodRequest.setStatus(RequestStatus.PENDING);
+
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email("donor@example.com")
+                .phone("9999999999")
+                .password("secret")
+                .role(UserRole.DONOR)
+                .build();
+        donor = new Donor();
+        donor.setId(UUID.randomUUID());
+        donor.setName("Donor");
+        donor.setAge(30);
+        donor.setAddress("Street 1");
+        donor.setUser(user);
+        donor.setBloodType(BloodType.O_NEGATIVE);
+        donor.setLocation(GEOMETRY_FACTORY.createPoint(new Coordinate(77.21, 28.61)));
+        donor.setLastDonation(LocalDate.now().minusDays(120));
+        donor.setIsAvailable(true);
+    }
+
+    @Benchmark
+    public BloodRequestDto bloodRequestModelMapper() {
+        return matchingModelMapper.map(bloodRequest, BloodRequestDto.class);
+    }
+
+    @Benchmark
+    public BloodRequestDto bloodRequestMapStruct() {
+        return bloodRequestMapper.toDto(bloodRequest);
+    }
+
+    @Benchmark
+    public DonorMatchDto donorMatchModelMapper() {
+        return userModelMapper.map(donor, DonorMatchDto.class);
+    }
+
+    @Benchmark
+    public DonorMatchDto donorMatchMapStruct() {
+        return donorMapper.toMatchDto(donor);
+    }
+
+    // ModelMapper configuration previously registered by matching-service AppConfig
+    private static ModelMapper legacyMatchingModelMapper() {
+        ModelMapper mapper = new ModelMapper();
+        mapper.typeMap(com.project.hemolink.matching_service.dto.PointDTO.class, Point.class).setConverter(context ->
+                com.project.hemolink.matching_service.utils.GeometryUtil.createPoint(context.getSource()));
+        mapper.typeMap(Point.class, com.project.hemolink.matching_service.dto.PointDTO.class).setConverter(context ->
+                new com.project.hemolink.matching_service.dto.PointDTO(
+                        new double[]{context.getSource().getX(), context.getSource().getY()}));
+        mapper.typeMap(BloodRequest.class, BloodRequestDto.class)
+                .addMappings(modMapper -> {
+                    modMapper.map(BloodRequest::getId, BloodRequestDto::setId);
+                    modMapper.map(BloodRequest::getHospitalId, BloodRequestDto::setHospitalId);
+                });
+        return mapper;
+    }
+
+    // ModelMapper configuration previously registered by user-service AppConfig
+    private static ModelMapper legacyUserModelMapper() {
+        ModelMapper mapper = new ModelMapper();
+        mapper.typeMap(com.project.hemolink.user_service.dto.PointDTO.class, Point.class).setConverter(context ->
+                com.project.hemolink.user_service.utils.GeometryUtil.createPoint(context.getSource()));
+        mapper.typeMap(Point.class, com.project.hemolink.user_service.dto.PointDTO.class).setConverter(context ->
+                new com.project.hemolink.user_service.dto.PointDTO(
+                        new double[]{context.getSource().getX(), context.getSource().getY()}));
+        return mapper;
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.hemolink.benchmarks;
+
+import com.project.hemolink.matching_service.dto.DonorMatchDto;
+import com.project.hemolink.matching_service.entities.enums.BloodType;
+import com.project.hemolink.matching_service.entities.enums.UrgencyLevel;
+import com.project.hemolink.matching_service.services.MatchScoringEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking a donor candidate set: the previous per-donor scoring with a full sort
+ * against the array-based top-K selection of {@link MatchScoringEngine}.
+ * Run with: java -jar target/benchmarks.jar MatchScoringBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchScoringBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int candidates;
+
+    @Param({"5"})
+    private int limit;
+
+    private final MatchScoringEngine engine = new MatchScoringEngine(0.6, 0.6, 0.6, 0.6);
+    private List<DonorMatchDto> donors;
+    private double[] distancesKm;
+    private long[] lastDonationEpochDays;
+    private double[] scores;
+    private long today;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate now = LocalDate.now();
+        today = now.toEpochDay();
+        donors = new ArrayList<>(candidates);
+        distancesKm = new double[candidates];
+        lastDonationEpochDays = new long[candidates];
+        scores = new double[candidates];
+        for (int i = 0; i < candidates; i++) {
+            LocalDate lastDonation = now.minusDays(90 + random.nextInt(365));
+            double distance = random.nextDouble() * 50;
+            donors.add(new DonorMatchDto("donor-" + i, "Donor " + i, BloodType.O_NEGATIVE,
+                    0, distance, lastDonation, true));
+            distancesKm[i] = distance;
+            lastDonationEpochDays[i] = lastDonation.toEpochDay();
+        }
+    }
+
+    @Benchmark
+    public List<DonorMatchDto> scoreAndSortAll() {
+        donors.forEach(donor -> {
+            double distanceScore = 1 - Math.min(donor.getDistanceKm() / 100, 1);
+            long daysSinceDonation = ChronoUnit.DAYS.between(donor.getLastDonationDate(), LocalDate.now());
+            double recencyScore = Math.max(0, 1 - (daysSinceDonation / 180.0));
+            donor.setScore((distanceScore * 0.6) + (recencyScore * 0.4));
+        });
+        return donors.stream()
+                .sorted((d1, d2) -> Double.compare(d2.getScore(), d1.getScore()))
+                .limit(limit)
+                .toList();
+    }
+
+    @Benchmark
+    public List<DonorMatchDto> rankTop() {
+        return engine.rankTop(donors, UrgencyLevel.HIGH, limit);
+    }
+
+    @Benchmark
+    public int[] topKPrimitive() {
+        return engine.topK(distancesKm, lastDonationEpochDays, today, UrgencyLevel.HIGH, limit, scores);
+    }
+}
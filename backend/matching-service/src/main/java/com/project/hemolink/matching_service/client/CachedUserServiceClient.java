@@ -0,0 +1,259 @@
+package com.project.hemolink.matching_service.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.project.hemolink.matching_service.dto.DonorDto;
+import com.project.hemolink.matching_service.dto.DonorMatchDto;
+import com.project.hemolink.matching_service.dto.HospitalDto;
+import com.project.hemolink.matching_service.entities.enums.BloodType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Two-level cache in front of the user-service Feign client.
+ * Level one is a small Caffeine cache per lookup with a short TTL; concurrent
+ * misses for a key share one load, and entries read after the refresh interval
+ * are reloaded in the background so hot hospitals never expire under traffic.
+ * Level two is Redis, shared by all matching-service instances. A miss reads it before
+ * calling user-service; a refresh skips it, since Redis may hold the very copy being refreshed.
+ * Both levels are invalidated from the profile change channel user-service publishes to.
+ */
+@Slf4j
+@Primary
+@Component
+public class CachedUserServiceClient implements UserServiceClient {
+    /** Qualifier of the remote Feign client this class decorates */
+    public static final String REMOTE = "remoteUserServiceClient";
+
+    private static final String REDIS_KEY_PREFIX = "user-client:";
+
+    private final UserServiceClient remote;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String channel;
+    private final Duration l2Ttl;
+
+    private final NearCache<HospitalDto> hospitals;
+    private final NearCache<HospitalDto> hospitalsByUser;
+    private final NearCache<DonorDto> donors;
+    private final NearCache<DonorDto> donorsByUser;
+
+    public CachedUserServiceClient(@Qualifier(REMOTE) UserServiceClient remote,
+                                   RedisTemplate<String, String> redisTemplate,
+                                   ObjectMapper objectMapper,
+                                   RedisMessageListenerContainer listenerContainer,
+                                   DonorBatchLoader donorBatchLoader,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${user-client.cache.channel:user-profile-changes}") String channel,
+                                   @Value("${user-client.cache.l1-ttl:60s}") Duration l1Ttl,
+                                   @Value("${user-client.cache.refresh-after:45s}") Duration refreshAfter,
+                                   @Value("${user-client.cache.max-size:10000}") long maxSize,
+                                   @Value("${user-client.cache.l2-ttl:5m}") Duration l2Ttl) {
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+        this.channel = channel;
+        this.l2Ttl = l2Ttl;
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(l1Ttl)
+                .refreshAfterWrite(refreshAfter)
+                // Background refreshes call user-service with the token of the request that triggered them
+                .executor(new DelegatingSecurityContextExecutor(ForkJoinPool.commonPool()))
+                .recordStats();
+        this.hospitals = new NearCache<>("hospital", HospitalDto.class, remote::getHospital, builder, meterRegistry);
+        this.hospitalsByUser = new NearCache<>("hospital-by-user", HospitalDto.class,
+                userId -> remote.getHospitalByUserId(userId).getBody(), builder, meterRegistry);
+        // Concurrent donor misses are sent to user-service together
+        this.donors = new NearCache<>("donor", DonorDto.class, donorBatchLoader::load, builder, meterRegistry);
+        this.donorsByUser = new NearCache<>("donor-by-user", DonorDto.class,
+                userId -> remote.getDonorByUserId(userId).getBody(), builder, meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener((message, pattern) -> onProfileChanged(new String(message.getBody(), StandardCharsets.UTF_8)),
+                ChannelTopic.of(channel));
+    }
+
+    @Override
+    public DonorDto getDonor(String donorId) {
+        return donors.get(donorId);
+    }
+
+    /**
+     * Gets many donors, fetching the ones not cached on-heap in one batch call
+     * @param donorIds Donors' unique IDs
+     * @return Donor DTOs for the IDs user-service knows
+     */
+    @Override
+    public List<DonorDto> getDonorsByIds(List<String> donorIds) {
+        Map<String, DonorDto> cached = donors.getAllPresent(donorIds);
+        List<String> missing = donorIds.stream()
+                .filter(donorId -> !cached.containsKey(donorId))
+                .distinct()
+                .toList();
+        List<DonorDto> result = new ArrayList<>(cached.values());
+        if (!missing.isEmpty()) {
+            List<DonorDto> fetched = remote.getDonorsByIds(missing);
+            fetched.forEach(donor -> donors.putLocal(donor.getId(), donor));
+            result.addAll(fetched);
+        }
+        return result;
+    }
+
+    @Override
+    public ResponseEntity<DonorDto> getDonorByUserId(String userId) {
+        return ResponseEntity.ok(donorsByUser.get(userId));
+    }
+
+    @Override
+    public HospitalDto getHospital(String hospitalId) {
+        return hospitals.get(hospitalId);
+    }
+
+    @Override
+    public ResponseEntity<HospitalDto> getHospitalByUserId(String userId) {
+        return ResponseEntity.ok(hospitalsByUser.get(userId));
+    }
+
+    @Override
+    public List<DonorMatchDto> findNearByEligibleDonors(Point location, BloodType bloodType, int radiusKm, int limit) {
+        return remote.findNearByEligibleDonors(location, bloodType, radiusKm, limit);
+    }
+
+    @Override
+    public void updateDonorAvailability(String donorId, boolean available) {
+        remote.updateDonorAvailability(donorId, available);
+        donors.invalidate(donorId);
+    }
+
+    /**
+     * Drops cached copies of a changed profile
+     * @param message Change in the form {@code <donor|hospital>:<profileId>:<userId>}
+     */
+    void onProfileChanged(String message) {
+        String[] parts = message.split(":");
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed profile change: {}", message);
+            return;
+        }
+        switch (parts[0]) {
+            case "donor" -> {
+                donors.invalidate(parts[1]);
+                donorsByUser.invalidate(parts[2]);
+            }
+            case "hospital" -> {
+                hospitals.invalidate(parts[1]);
+                hospitalsByUser.invalidate(parts[2]);
+            }
+            default -> log.warn("Ignoring profile change of unknown type: {}", message);
+        }
+    }
+
+    /**
+     * One lookup cached on-heap and in Redis
+     */
+    private class NearCache<V> {
+        private final String name;
+        private final Class<V> type;
+        private final Function<String, V> loader;
+        private final LoadingCache<String, V> local;
+
+        NearCache(String name, Class<V> type, Function<String, V> loader,
+                  Caffeine<Object, Object> builder, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.type = type;
+            this.loader = loader;
+            this.local = builder.build(new CacheLoader<String, V>() {
+                @Override
+                public V load(String key) {
+                    return loadThroughRedis(key);
+                }
+
+                @Override
+                public V reload(String key, V oldValue) {
+                    return fetch(key);
+                }
+            });
+            CaffeineCacheMetrics.monitor(meterRegistry, local, "user-client." + name);
+        }
+
+        V get(String key) {
+            return local.get(key);
+        }
+
+        Map<String, V> getAllPresent(List<String> keys) {
+            return local.getAllPresent(keys);
+        }
+
+        void putLocal(String key, V value) {
+            local.put(key, value);
+        }
+
+        void invalidate(String key) {
+            local.invalidate(key);
+            try {
+                redisTemplate.delete(redisKey(key));
+            } catch (RuntimeException e) {
+                log.warn("Failed to invalidate {} {} in Redis: {}", name, key, e.getMessage());
+            }
+        }
+
+        // Runs once per key however many callers miss at the same time
+        private V loadThroughRedis(String key) {
+            try {
+                String cached = redisTemplate.opsForValue().get(redisKey(key));
+                if (cached != null) {
+                    return objectMapper.readValue(cached, type);
+                }
+            } catch (RuntimeException | JsonProcessingException e) {
+                log.warn("Failed to read {} {} from Redis: {}", name, key, e.getMessage());
+            }
+            return fetch(key);
+        }
+
+        // Loads from user-service and shares the result with the other instances
+        private V fetch(String key) {
+            V value = loader.apply(key);
+            if (value != null) {
+                try {
+                    redisTemplate.opsForValue().set(redisKey(key), objectMapper.writeValueAsString(value), l2Ttl);
+                } catch (RuntimeException | JsonProcessingException e) {
+                    log.warn("Failed to write {} {} to Redis: {}", name, key, e.getMessage());
+                }
+            }
+            return value;
+        }
+
+        private String redisKey(String key) {
+            return REDIS_KEY_PREFIX + name + ":" + key;
+        }
+    }
+}
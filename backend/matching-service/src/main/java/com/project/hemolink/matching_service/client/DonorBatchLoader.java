@@ -0,0 +1,160 @@
+package com.project.hemolink.matching_service.client;
+
+import com.project.hemolink.matching_service.dto.DonorDto;
+import com.project.hemolink.matching_service.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Coalesces single donor lookups into batch calls.
+ * Lookups arriving within a short window are collected and fetched with one
+ * {@code POST /donors/batch}; a batch is sent early once it reaches the maximum size.
+ * Lookups are batched per caller credential and each batch is sent with that caller's
+ * security context, so callers never share a token or each other's failures.
+ */
+@Slf4j
+@Component
+public class DonorBatchLoader {
+    private final UserServiceClient remote;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "donor-batch-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final Object NO_CREDENTIALS = new Object();
+
+    private final Object lock = new Object();
+    // Credential forwarded to user-service -> lookups waiting to be sent with it
+    private final Map<Object, Batch> pending = new HashMap<>();
+
+    /**
+     * Lookups collected for one credential
+     */
+    private record Batch(Object credential, SecurityContext context, Map<String, CompletableFuture<DonorDto>> lookups) {
+    }
+
+    public DonorBatchLoader(@Qualifier(CachedUserServiceClient.REMOTE) UserServiceClient remote,
+                            MeterRegistry meterRegistry,
+                            @Value("${user-client.donor-batch.window:5ms}") Duration window,
+                            @Value("${user-client.donor-batch.max-size:100}") int maxBatchSize) {
+        this.remote = remote;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchSizes = DistributionSummary.builder("user_client.donor_batch.size")
+                .description("Donor lookups sent per batch call")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Gets a donor, waiting for the batch the lookup joins
+     * @param donorId Donor's unique ID
+     * @return Donor DTO
+     * @throws ResourceNotFoundException If user-service does not know the donor
+     */
+    public DonorDto load(String donorId) {
+        SecurityContext context = SecurityContextHolder.getContext();
+        Object credential = credentialOf(context);
+        CompletableFuture<DonorDto> result;
+        Batch full = null;
+        synchronized (lock) {
+            Batch batch = pending.get(credential);
+            if (batch == null) {
+                batch = new Batch(credential, context, new HashMap<>());
+                pending.put(credential, batch);
+                Batch scheduled = batch;
+                scheduler.schedule(() -> executor.execute(() -> flush(scheduled)), windowNanos, TimeUnit.NANOSECONDS);
+            }
+            result = batch.lookups().get(donorId);
+            if (result == null) {
+                result = new CompletableFuture<>();
+                batch.lookups().put(donorId, result);
+                if (batch.lookups().size() >= maxBatchSize) {
+                    full = batch;
+                }
+            }
+        }
+        if (full != null) {
+            flush(full);
+        }
+
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Sends a batch's lookups as one call, unless it has already been sent
+     * @param pendingBatch Batch to send
+     */
+    private void flush(Batch pendingBatch) {
+        synchronized (lock) {
+            if (pending.get(pendingBatch.credential()) != pendingBatch) {
+                return;
+            }
+            pending.remove(pendingBatch.credential());
+        }
+        Map<String, CompletableFuture<DonorDto>> batch = pendingBatch.lookups();
+        batchSizes.record(batch.size());
+
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContextHolder.setContext(pendingBatch.context());
+        try {
+            List<DonorDto> donors = remote.getDonorsByIds(new ArrayList<>(batch.keySet()));
+            for (DonorDto donor : donors) {
+                CompletableFuture<DonorDto> result = batch.remove(donor.getId());
+                if (result != null) {
+                    result.complete(donor);
+                }
+            }
+            batch.forEach((donorId, result) ->
+                    result.completeExceptionally(new ResourceNotFoundException("Donor not found: " + donorId)));
+        } catch (RuntimeException e) {
+            log.warn("Donor batch lookup of {} donors failed: {}", batch.size(), e.getMessage());
+            batch.values().forEach(result -> result.completeExceptionally(e));
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    /**
+     * Identifies the credential FeignClientConfig forwards for a security context
+     */
+    private static Object credentialOf(SecurityContext context) {
+        Authentication authentication = context.getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof String token) {
+            return token;
+        }
+        return NO_CREDENTIALS;
+    }
+}
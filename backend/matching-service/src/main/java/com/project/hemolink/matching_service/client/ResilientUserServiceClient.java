@@ -0,0 +1,222 @@
+package com.project.hemolink.matching_service.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.hemolink.matching_service.dto.DonorDto;
+import com.project.hemolink.matching_service.dto.DonorMatchDto;
+import com.project.hemolink.matching_service.dto.HospitalDto;
+import com.project.hemolink.matching_service.entities.enums.BloodType;
+import com.project.hemolink.matching_service.exception.UserServiceUnavailableException;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Guards calls to user-service.
+ * Every call runs on a virtual thread with a per-method timeout, inside a bulkhead
+ * capping concurrent calls and a circuit breaker that stops calling an unhealthy
+ * user-service. Client errors (4xx) pass through and do not count as failures.
+ * When a hospital lookup cannot be made, the last hospital seen is served instead.
+ */
+@Slf4j
+@Component
+@Qualifier(CachedUserServiceClient.REMOTE)
+public class ResilientUserServiceClient implements UserServiceClient {
+    /** Qualifier of the Feign client this class guards */
+    public static final String HTTP = "httpUserServiceClient";
+
+    private static final String NAME = "user-service";
+
+    private final UserServiceClient http;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Cache<String, HospitalDto> staleHospitals;
+
+    private final Duration lookupTimeout;
+    private final Duration searchTimeout;
+    private final Duration updateTimeout;
+
+    public ResilientUserServiceClient(@Qualifier(HTTP) UserServiceClient http,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${user-client.timeout.lookup:1s}") Duration lookupTimeout,
+                                      @Value("${user-client.timeout.search:3s}") Duration searchTimeout,
+                                      @Value("${user-client.timeout.update:2s}") Duration updateTimeout,
+                                      @Value("${user-client.bulkhead.max-concurrent-calls:32}") int maxConcurrentCalls,
+                                      @Value("${user-client.bulkhead.max-wait:50ms}") Duration maxWait,
+                                      @Value("${user-client.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                                      @Value("${user-client.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+                                      @Value("${user-client.circuit-breaker.minimum-calls:20}") int minimumCalls,
+                                      @Value("${user-client.circuit-breaker.wait-in-open-state:10s}") Duration waitInOpenState,
+                                      @Value("${user-client.stale-hospital-ttl:24h}") Duration staleHospitalTtl) {
+        this.http = http;
+        this.meterRegistry = meterRegistry;
+        this.lookupTimeout = lookupTimeout;
+        this.searchTimeout = searchTimeout;
+        this.updateTimeout = updateTimeout;
+
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .ignoreExceptions(FeignException.FeignClientException.class, BulkheadFullException.class)
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        this.circuitBreaker = circuitBreakers.circuitBreaker(NAME);
+        this.bulkhead = bulkheads.bulkhead(NAME);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+
+        this.staleHospitals = Caffeine.newBuilder()
+                .expireAfterWrite(staleHospitalTtl)
+                .maximumSize(10_000)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public DonorDto getDonor(String donorId) {
+        return execute("getDonor", lookupTimeout, () -> http.getDonor(donorId));
+    }
+
+    @Override
+    public List<DonorDto> getDonorsByIds(List<String> donorIds) {
+        return execute("getDonorsByIds", lookupTimeout, () -> http.getDonorsByIds(donorIds));
+    }
+
+    @Override
+    public ResponseEntity<DonorDto> getDonorByUserId(String userId) {
+        return execute("getDonorByUserId", lookupTimeout, () -> http.getDonorByUserId(userId));
+    }
+
+    @Override
+    public HospitalDto getHospital(String hospitalId) {
+        return withStaleFallback("id:" + hospitalId,
+                () -> execute("getHospital", lookupTimeout, () -> http.getHospital(hospitalId)));
+    }
+
+    @Override
+    public ResponseEntity<HospitalDto> getHospitalByUserId(String userId) {
+        return ResponseEntity.ok(withStaleFallback("user:" + userId,
+                () -> execute("getHospitalByUserId", lookupTimeout, () -> http.getHospitalByUserId(userId)).getBody()));
+    }
+
+    @Override
+    public List<DonorMatchDto> findNearByEligibleDonors(Point location, BloodType bloodType, int radiusKm, int limit) {
+        return execute("findNearByEligibleDonors", searchTimeout,
+                () -> http.findNearByEligibleDonors(location, bloodType, radiusKm, limit));
+    }
+
+    @Override
+    public void updateDonorAvailability(String donorId, boolean available) {
+        execute("updateDonorAvailability", updateTimeout, () -> {
+            http.updateDonorAvailability(donorId, available);
+            return null;
+        });
+    }
+
+    private HospitalDto withStaleFallback(String key, Supplier<HospitalDto> call) {
+        try {
+            HospitalDto hospital = call.get();
+            if (hospital != null) {
+                staleHospitals.put(key, hospital);
+            }
+            return hospital;
+        } catch (UserServiceUnavailableException e) {
+            HospitalDto stale = staleHospitals.getIfPresent(key);
+            if (stale == null) {
+                throw e;
+            }
+            log.warn("Serving stale hospital {}: {}", key, e.getMessage());
+            return stale;
+        }
+    }
+
+    /**
+     * Runs a call through the circuit breaker, bulkhead and timeout, recording its latency
+     * @param method Client method name, used as metric tag
+     * @param timeout Time allowed for the call
+     * @param call Remote call
+     * @return Call result
+     * @throws UserServiceUnavailableException if the call was rejected, timed out or failed server-side
+     */
+    private <T> T execute(String method, Duration timeout, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return circuitBreaker.executeCallable(() -> bulkhead.executeCallable(() -> withTimeout(call, timeout)));
+        } catch (FeignException.FeignClientException e) {
+            outcome = "client_error";
+            throw e;
+        } catch (CallNotPermittedException | BulkheadFullException | TimeoutException | FeignException e) {
+            outcome = "unavailable";
+            throw new UserServiceUnavailableException("user-service unavailable for " + method + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = "unavailable";
+            throw new UserServiceUnavailableException("Interrupted calling user-service " + method, e);
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } catch (Exception e) {
+            outcome = "error";
+            throw new IllegalStateException(e);
+        } finally {
+            Timer.builder("user_client.requests")
+                    .description("Calls to user-service by method and outcome")
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> T withTimeout(Supplier<T> call, Duration timeout) throws TimeoutException, InterruptedException {
+        // The Feign interceptor reads the caller's token from the security context
+        Future<T> future = executor.submit(new DelegatingSecurityContextCallable<>(call::get));
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -14,12 +14,17 @@ import java.util.List;
 
 @FeignClient(name = "user-service",
         path = "/users",
+        qualifiers = ResilientUserServiceClient.HTTP,
+        primary = false,
         configuration = FeignClientConfig.class)
 public interface UserServiceClient {
 
     @GetMapping("/donors/{donorId}")
     DonorDto getDonor(@PathVariable String donorId);
 
+    @PostMapping("/donors/batch")
+    List<DonorDto> getDonorsByIds(@RequestBody List<String> donorIds);
+
     @GetMapping("/donors/by-user/{userId}")
     ResponseEntity<DonorDto> getDonorByUserId(@PathVariable String userId);
 
@@ -0,0 +1,24 @@
+package com.project.hemolink.matching_service.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaConfig {
+
+    /**
+     * Topic carrying notification events; partitions bound how far notification-service consumers can scale out
+     */
+    @Bean
+    public NewTopic notificationEventsTopic(@Value("${notification-events.topic:notification-events}") String topic,
+                                            @Value("${notification-events.partitions:6}") int partitions,
+                                            @Value("${notification-events.replicas:1}") int replicas) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+}
@@ -5,14 +5,17 @@ import com.project.hemolink.matching_service.entities.enums.BloodType;
 import com.project.hemolink.matching_service.entities.enums.RequestStatus;
 import com.project.hemolink.matching_service.entities.enums.UrgencyLevel;
 import com.project.hemolink.matching_service.services.BloodRequestService;
+import com.project.hemolink.matching_service.services.RequestUpdateBroadcaster;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 
@@ -22,6 +25,7 @@ import java.time.LocalDateTime;
 @PreAuthorize("hasRole('HOSPITAL')")
 public class BloodRequestController {
     private final BloodRequestService bloodRequestService;
+    private final RequestUpdateBroadcaster requestUpdateBroadcaster;
 
 
     @PostMapping("/create")
@@ -59,6 +63,18 @@ public class BloodRequestController {
         return ResponseEntity.ok(bloodRequestService.getAllRequests(pageRequest));
     }
 
+    @GetMapping(value = "/updates", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRequestUpdates(){
+        return requestUpdateBroadcaster.subscribe(bloodRequestService.getCurrentHospitalId());
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<BloodRequestSliceDto> scrollRequests(@RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "10") int size,
+                                                               @RequestParam(defaultValue = "false") boolean includeTotal){
+        return ResponseEntity.ok(bloodRequestService.scrollRequests(cursor, size, includeTotal));
+    }
+
     @PatchMapping("/{requestId}/cancel")
     public ResponseEntity<BloodRequestDto> cancelRequest(@PathVariable String requestId){
         return ResponseEntity.ok(bloodRequestService.cancelRequest(requestId));
@@ -98,4 +114,28 @@ public class BloodRequestController {
         );
     }
 
+    @GetMapping("/filter/scroll")
+    public ResponseEntity<BloodRequestSliceDto> scrollFilteredRequests(
+            @RequestParam(required = false) RequestStatus status,
+            @RequestParam(required = false) BloodType bloodType,
+            @RequestParam(required = false) UrgencyLevel urgency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiryStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiryEnd,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(
+                bloodRequestService.scrollFilteredRequests(
+                        status,
+                        bloodType,
+                        urgency,
+                        expiryStart,
+                        expiryEnd,
+                        cursor,
+                        size,
+                        includeTotal
+                )
+        );
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.project.hemolink.matching_service.controller;
 
 import com.project.hemolink.matching_service.dto.*;
+import com.project.hemolink.matching_service.services.AutoMatchingPipeline;
 import com.project.hemolink.matching_service.services.DonationScheduleService;
 import com.project.hemolink.matching_service.services.MatchingService;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ public class DonorMatchingController {
 
     private final MatchingService matchingService;
     private final DonationScheduleService donationScheduleService;
+    private final AutoMatchingPipeline autoMatchingPipeline;
 
     @GetMapping("/request/{requestId}")
     public ResponseEntity<List<DonorMatchDto>> findCompatibleDonors(
@@ -34,6 +36,13 @@ public class DonorMatchingController {
         return ResponseEntity.ok(matchingService.autoMatchDonors(requestId));
     }
 
+    @GetMapping("/auto-matching/{requestId}")
+    public ResponseEntity<AutoMatchStatusDto> getAutoMatchStatus(
+            @PathVariable String requestId
+    ){
+        return ResponseEntity.ok(autoMatchingPipeline.getStatus(requestId));
+    }
+
     @PostMapping("/confirm")
     public ResponseEntity<DonationDto> confirmMatch(
             @RequestBody ConfirmMatchDto confirmMatchDto){
@@ -0,0 +1,23 @@
+package com.project.hemolink.matching_service.dto;
+
+import com.project.hemolink.matching_service.entities.enums.AutoMatchState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class AutoMatchStatusDto {
+
+    private String requestId;
+    private AutoMatchState state;
+    private Instant queuedAt;
+    private Instant completedAt;
+    private AutoMatchResultDto result;
+    private String error;
+}
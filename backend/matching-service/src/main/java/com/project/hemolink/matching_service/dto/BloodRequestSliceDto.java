@@ -0,0 +1,25 @@
+package com.project.hemolink.matching_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One slice of blood requests from a keyset-paginated listing
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BloodRequestSliceDto {
+
+    private List<BloodRequestDto> content;
+    /** Opaque token for the next slice, null on the last slice */
+    private String nextCursor;
+    private boolean hasNext;
+    /** Total matching requests, only set when requested */
+    private Long totalElements;
+}
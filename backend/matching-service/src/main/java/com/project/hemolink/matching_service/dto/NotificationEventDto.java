@@ -0,0 +1,37 @@
+package com.project.hemolink.matching_service.dto;
+
+import com.project.hemolink.matching_service.entities.enums.NotificationEventType;
+
+import java.time.Instant;
+
+/**
+ * Event published to notification-service.
+ * The event key is derived from the domain change, so republishing the same change yields
+ * the same key and notification-service stores it only once.
+ * @param eventKey Idempotency key of the event
+ * @param type Kind of event
+ * @param requestId Request ID
+ * @param hospitalId Owning hospital ID
+ * @param donorId Donor involved, for match and confirmation events
+ * @param donationId Donation involved, for confirmation events
+ * @param occurredAt Time of the change
+ */
+public record NotificationEventDto(String eventKey, NotificationEventType type, String requestId, String hospitalId,
+                                   String donorId, String donationId, Instant occurredAt) {
+
+    public static NotificationEventDto donorMatched(String requestId, String hospitalId, String donorId, Instant occurredAt) {
+        return new NotificationEventDto("donor-matched:" + requestId + ":" + donorId, NotificationEventType.DONOR_MATCHED,
+                requestId, hospitalId, donorId, null, occurredAt);
+    }
+
+    public static NotificationEventDto donationConfirmed(String requestId, String hospitalId, String donorId,
+                                                         String donationId, Instant occurredAt) {
+        return new NotificationEventDto("donation-confirmed:" + donationId, NotificationEventType.DONATION_CONFIRMED,
+                requestId, hospitalId, donorId, donationId, occurredAt);
+    }
+
+    public static NotificationEventDto requestExpired(String requestId, String hospitalId, Instant occurredAt) {
+        return new NotificationEventDto("request-expired:" + requestId, NotificationEventType.REQUEST_EXPIRED,
+                requestId, hospitalId, null, null, occurredAt);
+    }
+}
@@ -20,9 +20,7 @@ import java.util.UUID;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "blood_requests",
-    indexes = @Index(name = "idx_expiry_status",
-                     columnList = "expiry_time, status"))
+@Table(name = "blood_requests")
 public class BloodRequest {
 
     @Id
@@ -24,6 +24,7 @@ public class MatchLog {
     private String requestId;
     private String donorId;
     private LocalDateTime matchedAt;
+    @Enumerated(EnumType.STRING)
     private NotificationStatus status;
     private boolean volunteered;
 
@@ -0,0 +1,9 @@
+package com.project.hemolink.matching_service.entities.enums;
+
+public enum AutoMatchState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    REJECTED
+}
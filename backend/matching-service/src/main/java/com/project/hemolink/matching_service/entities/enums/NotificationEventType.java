@@ -0,0 +1,7 @@
+package com.project.hemolink.matching_service.entities.enums;
+
+public enum NotificationEventType {
+    DONOR_MATCHED,
+    DONATION_CONFIRMED,
+    REQUEST_EXPIRED
+}
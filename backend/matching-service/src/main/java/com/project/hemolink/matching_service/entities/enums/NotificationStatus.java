@@ -1,5 +1,5 @@
 package com.project.hemolink.matching_service.entities.enums;
 
 public enum NotificationStatus {
-    PENDING, SENDING, FAILED, SENT, VOLUNTEERED
+    PENDING, SENDING, FAILED, SENT, VOLUNTEERED, EXPIRED
 }
@@ -0,0 +1,10 @@
+package com.project.hemolink.matching_service.entities.enums;
+
+public enum RequestUpdateType {
+    CREATED,
+    STATUS_CHANGED,
+    DETAILS_UPDATED,
+    MATCH_LOGGED,
+    DONATION_CONFIRMED,
+    DONATION_UPDATED
+}
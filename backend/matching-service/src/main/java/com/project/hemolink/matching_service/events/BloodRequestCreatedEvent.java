@@ -0,0 +1,15 @@
+package com.project.hemolink.matching_service.events;
+
+import org.springframework.security.core.Authentication;
+
+import java.time.Instant;
+
+/**
+ * Published when a blood request has been created
+ * @param requestId Created request ID
+ * @param creator Authentication of the hospital user that created the request,
+ *                used to call user-service on its behalf
+ * @param createdAt Time the event was published
+ */
+public record BloodRequestCreatedEvent(String requestId, Authentication creator, Instant createdAt) {
+}
@@ -0,0 +1,43 @@
+package com.project.hemolink.matching_service.events;
+
+import com.project.hemolink.matching_service.entities.BloodRequest;
+import com.project.hemolink.matching_service.entities.Donation;
+import com.project.hemolink.matching_service.entities.enums.RequestStatus;
+import com.project.hemolink.matching_service.entities.enums.RequestUpdateType;
+
+import java.time.Instant;
+
+/**
+ * Published when something a hospital dashboard shows about a blood request changes.
+ * Relayed to every instance and streamed to the owning hospital's subscribers.
+ * @param requestId Request ID
+ * @param hospitalId Owning hospital ID, resolved from the request when null
+ * @param type Kind of change
+ * @param status Request status after the change, when known
+ * @param donorId Donor involved in a match or donation update
+ * @param donationId Donation involved in a donation update
+ * @param occurredAt Time of the change
+ */
+public record RequestUpdateEvent(String requestId, String hospitalId, RequestUpdateType type, RequestStatus status,
+                                 String donorId, String donationId, Instant occurredAt) {
+
+    public static RequestUpdateEvent of(BloodRequest request, RequestUpdateType type) {
+        return new RequestUpdateEvent(request.getId().toString(), request.getHospitalId(), type,
+                request.getStatus(), null, null, Instant.now());
+    }
+
+    public static RequestUpdateEvent of(Donation donation, RequestUpdateType type) {
+        BloodRequest request = donation.getRequest();
+        return new RequestUpdateEvent(request.getId().toString(), request.getHospitalId(), type,
+                request.getStatus(), donation.getDonorId(), donation.getId().toString(), Instant.now());
+    }
+
+    public static RequestUpdateEvent matchLogged(String requestId, String donorId) {
+        return new RequestUpdateEvent(requestId, null, RequestUpdateType.MATCH_LOGGED,
+                null, donorId, null, Instant.now());
+    }
+
+    public RequestUpdateEvent withHospitalId(String hospitalId) {
+        return new RequestUpdateEvent(requestId, hospitalId, type, status, donorId, donationId, occurredAt);
+    }
+}
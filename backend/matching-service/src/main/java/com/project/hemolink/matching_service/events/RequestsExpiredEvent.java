@@ -0,0 +1,12 @@
+package com.project.hemolink.matching_service.events;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Published for each chunk of pending blood requests moved to EXPIRED
+ * @param requestIds IDs of the requests that expired
+ * @param expiredAt Time the chunk was expired
+ */
+public record RequestsExpiredEvent(List<String> requestIds, Instant expiredAt) {
+}
@@ -0,0 +1,7 @@
+package com.project.hemolink.matching_service.exception;
+
+public class UserServiceUnavailableException extends RuntimeException{
+    public UserServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
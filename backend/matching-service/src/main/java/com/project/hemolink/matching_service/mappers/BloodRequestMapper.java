@@ -0,0 +1,12 @@
+package com.project.hemolink.matching_service.mappers;
+
+import com.project.hemolink.matching_service.dto.BloodRequestDto;
+import com.project.hemolink.matching_service.entities.BloodRequest;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring", uses = GeometryMapper.class, injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface BloodRequestMapper {
+
+    BloodRequestDto toDto(BloodRequest bloodRequest);
+}
@@ -0,0 +1,15 @@
+package com.project.hemolink.matching_service.mappers;
+
+import com.project.hemolink.matching_service.dto.DonationDto;
+import com.project.hemolink.matching_service.entities.Donation;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface DonationMapper {
+
+    @Mapping(target = "donationId", source = "id")
+    @Mapping(target = "requestId", source = "request.id")
+    @Mapping(target = "scheduledTime", source = "scheduledAt")
+    DonationDto toDto(Donation donation);
+}
@@ -0,0 +1,21 @@
+package com.project.hemolink.matching_service.mappers;
+
+import com.project.hemolink.matching_service.dto.PointDTO;
+import com.project.hemolink.matching_service.utils.GeometryUtil;
+import org.locationtech.jts.geom.Point;
+import org.mapstruct.Mapper;
+
+/**
+ * Conversions between JTS points and their GeoJSON-style DTO, used by the other mappers
+ */
+@Mapper(componentModel = "spring")
+public interface GeometryMapper {
+
+    default Point toPoint(PointDTO pointDTO) {
+        return pointDTO == null ? null : GeometryUtil.createPoint(pointDTO);
+    }
+
+    default PointDTO toPointDto(Point point) {
+        return point == null ? null : new PointDTO(new double[]{point.getX(), point.getY()});
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.hemolink.matching_service.mappers;
+
+import com.project.hemolink.matching_service.dto.MatchLogDto;
+import com.project.hemolink.matching_service.entities.MatchLog;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface MatchLogMapper {
+
+    MatchLogDto toDto(MatchLog matchLog);
+}
@@ -3,27 +3,66 @@ package com.project.hemolink.matching_service.repositories;
 import com.project.hemolink.matching_service.entities.BloodRequest;
 import com.project.hemolink.matching_service.entities.enums.RequestStatus;
 import com.project.hemolink.matching_service.entities.enums.UrgencyLevel;
+import com.project.hemolink.matching_service.services.expiry.ScheduledExpiry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface BloodRequestRepository extends JpaRepository<BloodRequest, UUID> {
+public interface BloodRequestRepository extends JpaRepository<BloodRequest, UUID>, JpaSpecificationExecutor<BloodRequest> {
 
     Page<BloodRequest> findByHospitalId(String hospitalId, Pageable pageRequest);
 
     boolean existsByHospitalId(String hospitalId);
 
-    List<BloodRequest> findByStatusAndExpiryTimeBefore(RequestStatus requestStatus, LocalDateTime now);
+    /**
+     * Expires up to {@code limit} pending requests of one shard whose expiry time has passed, in one statement.
+     * Requests are assigned to shards by hash of their ID. Rows locked by another transaction are
+     * skipped and picked up by a later run.
+     * @return IDs of the requests that were expired
+     */
+    @Query(value = """
+            UPDATE blood_requests SET status = 'EXPIRED'
+            WHERE request_id IN (
+                SELECT request_id FROM blood_requests
+                WHERE status = 'PENDING' AND expiry_time < :now
+                  AND (hashtext(request_id::text) & 2147483647) % :shards = :shard
+                ORDER BY expiry_time
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            RETURNING request_id
+            """, nativeQuery = true)
+    List<UUID> expirePendingRequests(@Param("now") LocalDateTime now, @Param("shard") int shard,
+                                     @Param("shards") int shards, @Param("limit") int limit);
+
+    /**
+     * Expires the given requests that are still pending and due.
+     * Requests whose expiry time moved later or that left PENDING are left untouched.
+     * @return IDs of the requests that were expired
+     */
+    @Query(value = """
+            UPDATE blood_requests SET status = 'EXPIRED'
+            WHERE request_id IN (:ids) AND status = 'PENDING' AND expiry_time <= :now
+            RETURNING request_id
+            """, nativeQuery = true)
+    List<UUID> expireDueRequests(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    // Status is a literal so the predicate matches the partial pending-expiry index
+    @Query("SELECT new com.project.hemolink.matching_service.services.expiry.ScheduledExpiry(r.id, r.expiryTime) " +
+            "FROM BloodRequest r WHERE r.status = 'PENDING' AND r.expiryTime IS NOT NULL")
+    List<ScheduledExpiry> findPendingExpiries();
 
     @Query("SELECT r FROM BloodRequest  r WHERE r.status = 'ACTIVE' AND r.urgency = 'HIGH' ")
     List<BloodRequest> findUrgentRequests();
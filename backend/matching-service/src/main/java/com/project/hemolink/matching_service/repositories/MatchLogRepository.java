@@ -4,6 +4,9 @@ import com.project.hemolink.matching_service.entities.MatchLog;
 import com.project.hemolink.matching_service.entities.enums.NotificationStatus;
 import org.springframework.beans.factory.config.YamlProcessor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
@@ -24,4 +27,10 @@ public interface MatchLogRepository extends JpaRepository<MatchLog, UUID> {
     List<MatchLog> findByRequestId(String requestId);
 
     long countByRequestId(String requestId);
+
+    @Modifying
+    @Query("UPDATE MatchLog m SET m.status = :to WHERE m.requestId IN :requestIds AND m.status = :from")
+    int updateStatusForRequests(@Param("requestIds") Collection<String> requestIds,
+                                @Param("from") NotificationStatus from,
+                                @Param("to") NotificationStatus to);
 }
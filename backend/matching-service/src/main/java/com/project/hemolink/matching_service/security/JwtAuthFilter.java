@@ -40,8 +40,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
 
             String token = requestTokenHeader.substring(7);
-            String userId = jwtService.getUserIdFromToken(token);
-            String role = jwtService.getRoleFromToken(token);
+            ParsedToken parsedToken = jwtService.parse(token);
+            String userId = parsedToken.subject();
+            String role = parsedToken.role();
 
             if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UsernamePasswordAuthenticationToken authToken =
@@ -1,56 +1,51 @@
 package com.project.hemolink.matching_service.security;
 
 import com.project.hemolink.matching_service.dto.User;
-import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.Calendar;
 import java.util.Date;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${jwt.secretKey}")
-    private String jwtSecretKey;
+    private final SecretKey secretKey;
+    private final JwtParser jwtParser;
 
-
-
-    private SecretKey getSecretKey(){
-        return Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+    public JwtService(@Value("${jwt.secretKey}") String jwtSecretKey) {
+        this.secretKey = Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
     }
 
     public String generateRefreshToken(User user){
         return Jwts.builder()
                 .subject(user.getId().toString())
                 .issuedAt(new Date())
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
+    /**
+     * Verifies a token once and reads all the claims callers need from it
+     * @param token JWT token
+     * @return Subject, role, email and expiry of the token
+     */
+    public ParsedToken parse(String token) {
+        return ParsedToken.of(jwtParser.parseSignedClaims(token).getPayload());
+    }
 
     public String getUserIdFromToken(String token){
-
-        Claims claims = Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return parse(token).subject();
     }
 
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("role", String.class); // Extract role claim
+        return parse(token).role(); // Extract role claim
     }
 }
@@ -0,0 +1,236 @@
+package com.project.hemolink.matching_service.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.hemolink.matching_service.dto.AutoMatchResultDto;
+import com.project.hemolink.matching_service.dto.AutoMatchStatusDto;
+import com.project.hemolink.matching_service.dto.DonorMatchDto;
+import com.project.hemolink.matching_service.entities.enums.AutoMatchState;
+import com.project.hemolink.matching_service.events.BloodRequestCreatedEvent;
+import com.project.hemolink.matching_service.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Matches newly created blood requests in the background.
+ * Creation events go into a bounded queue that a pool of workers drains in batches;
+ * each batch is searched and scored per request and its matches logged in one write.
+ * Progress is kept per request in Redis, so a status poll can reach any instance.
+ */
+@Service
+@Slf4j
+public class AutoMatchingPipeline {
+    private final MatchingService matchingService;
+    private final MatchLogService matchLogService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final BlockingQueue<BloodRequestCreatedEvent> queue;
+    private final int workers;
+    private final int batchSize;
+    private final int topMatches;
+    private final Duration statusTtl;
+    private final ExecutorService executor;
+
+    private final Timer lag;
+    private final Timer batchDuration;
+    private final Counter rejected;
+
+    public AutoMatchingPipeline(MatchingService matchingService,
+                                MatchLogService matchLogService,
+                                RedisTemplate<String, String> redisTemplate,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${auto-matching.queue-capacity:1000}") int queueCapacity,
+                                @Value("${auto-matching.workers:4}") int workers,
+                                @Value("${auto-matching.batch-size:20}") int batchSize,
+                                @Value("${auto-matching.top-matches:5}") int topMatches,
+                                @Value("${auto-matching.status-ttl:24h}") Duration statusTtl) {
+        this.matchingService = matchingService;
+        this.matchLogService = matchLogService;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = workers;
+        this.batchSize = Math.max(1, batchSize);
+        this.topMatches = topMatches;
+        this.statusTtl = statusTtl;
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "auto-matcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("auto_matching.queue.depth", queue, BlockingQueue::size)
+                .description("Blood requests waiting to be matched")
+                .register(meterRegistry);
+        Gauge.builder("auto_matching.queue.remaining_capacity", queue, BlockingQueue::remainingCapacity)
+                .register(meterRegistry);
+        this.lag = Timer.builder("auto_matching.lag")
+                .description("Time from request creation until a worker picks it up")
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("auto_matching.batch.duration")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auto_matching.rejected")
+                .description("Requests not queued because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::drain);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a newly created request once its transaction has committed.
+     * When the queue is full the request is marked rejected and can still be
+     * matched through the manual auto-matching endpoint.
+     * @param event Request created event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestCreated(BloodRequestCreatedEvent event) {
+        if (queue.offer(event)) {
+            // Workers may already be running it; only record QUEUED if nothing newer was written
+            saveStatus(status(event, AutoMatchState.QUEUED, null, null), true);
+        } else {
+            rejected.increment();
+            log.warn("Auto-matching queue full, request {} not queued", event.requestId());
+            saveStatus(status(event, AutoMatchState.REJECTED, null, "Auto-matching queue is full"), false);
+        }
+    }
+
+    /**
+     * Gets the auto-matching progress of a request
+     * @param requestId Request ID
+     * @return Current status, with results once completed
+     */
+    public AutoMatchStatusDto getStatus(String requestId) {
+        String json = redisTemplate.opsForValue().get(statusKey(requestId));
+        if (json == null) {
+            throw new ResourceNotFoundException("No auto-matching run for request: " + requestId);
+        }
+        try {
+            return objectMapper.readValue(json, AutoMatchStatusDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable auto-matching status for request: " + requestId, e);
+        }
+    }
+
+    private void drain() {
+        List<BloodRequestCreatedEvent> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                batchDuration.record(() -> process(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Auto-matching batch failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<BloodRequestCreatedEvent> batch) {
+        Map<BloodRequestCreatedEvent, AutoMatchResultDto> results = new LinkedHashMap<>();
+        for (BloodRequestCreatedEvent event : batch) {
+            lag.record(Duration.between(event.createdAt(), Instant.now()));
+            saveStatus(status(event, AutoMatchState.RUNNING, null, null), false);
+
+            // user-service calls are authorised with the creator's token
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(event.creator());
+            SecurityContextHolder.setContext(context);
+            try {
+                List<DonorMatchDto> matches = matchingService.findCompatibleDonors(event.requestId(), topMatches);
+                results.put(event, AutoMatchResultDto.builder()
+                        .requestId(event.requestId())
+                        .totalMatches(matches.size())
+                        .topMatches(matches)
+                        .build());
+            } catch (RuntimeException e) {
+                log.warn("Auto-matching failed for request {}: {}", event.requestId(), e.getMessage());
+                saveStatus(status(event, AutoMatchState.FAILED, null, e.getMessage()), false);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+
+        if (results.isEmpty()) {
+            return;
+        }
+        try {
+            matchLogService.logMatches(new ArrayList<>(results.values()));
+            results.forEach((event, result) ->
+                    saveStatus(status(event, AutoMatchState.COMPLETED, result, null), false));
+        } catch (RuntimeException e) {
+            log.error("Failed to log auto-matching results", e);
+            results.keySet().forEach(event ->
+                    saveStatus(status(event, AutoMatchState.FAILED, null, e.getMessage()), false));
+        }
+    }
+
+    private static AutoMatchStatusDto status(BloodRequestCreatedEvent event, AutoMatchState state,
+                                             AutoMatchResultDto result, String error) {
+        boolean finished = state != AutoMatchState.QUEUED && state != AutoMatchState.RUNNING;
+        return AutoMatchStatusDto.builder()
+                .requestId(event.requestId())
+                .state(state)
+                .queuedAt(event.createdAt())
+                .completedAt(finished ? Instant.now() : null)
+                .result(result)
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Stores a request's status for status polls on any instance; failures are logged, not thrown
+     * @param status Status to store
+     * @param ifAbsent Only store it if the request has no status yet
+     */
+    private void saveStatus(AutoMatchStatusDto status, boolean ifAbsent) {
+        String key = statusKey(status.getRequestId());
+        try {
+            String json = objectMapper.writeValueAsString(status);
+            if (ifAbsent) {
+                redisTemplate.opsForValue().setIfAbsent(key, json, statusTtl);
+            } else {
+                redisTemplate.opsForValue().set(key, json, statusTtl);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to store auto-matching status of request {}: {}", status.getRequestId(), e.getMessage());
+        }
+    }
+
+    private static String statusKey(String requestId) {
+        return "auto-match:status:" + requestId;
+    }
+}
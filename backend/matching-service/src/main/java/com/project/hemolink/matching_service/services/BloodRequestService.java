@@ -6,22 +6,35 @@ import com.project.hemolink.matching_service.dto.*;
 import com.project.hemolink.matching_service.entities.BloodRequest;
 import com.project.hemolink.matching_service.entities.enums.BloodType;
 import com.project.hemolink.matching_service.entities.enums.RequestStatus;
+import com.project.hemolink.matching_service.entities.enums.RequestUpdateType;
 import com.project.hemolink.matching_service.entities.enums.UrgencyLevel;
+import com.project.hemolink.matching_service.events.BloodRequestCreatedEvent;
+import com.project.hemolink.matching_service.events.RequestUpdateEvent;
 import com.project.hemolink.matching_service.exception.BadRequestException;
 import com.project.hemolink.matching_service.exception.ResourceNotFoundException;
+import com.project.hemolink.matching_service.mappers.BloodRequestMapper;
+import com.project.hemolink.matching_service.mappers.GeometryMapper;
 import com.project.hemolink.matching_service.repositories.BloodRequestRepository;
 import com.project.hemolink.matching_service.security.SecurityUtil;
+import com.project.hemolink.matching_service.utils.RequestCursor;
+import com.project.hemolink.matching_service.services.expiry.RequestExpiryScheduler;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.locationtech.jts.geom.Point;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -33,10 +46,16 @@ import java.util.UUID;
 @Slf4j
 @RequiredArgsConstructor
 public class BloodRequestService {
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final Sort SCROLL_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final BloodRequestRepository bloodRequestRepository;
-    private final ModelMapper modelMapper;
+    private final BloodRequestMapper bloodRequestMapper;
+    private final GeometryMapper geometryMapper;
     private final UserServiceClient userServiceClient;
     private final SecurityUtil securityUtil;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RequestExpiryScheduler expiryScheduler;
 
     /**
      * Creates a new blood request from DTO
@@ -60,7 +79,7 @@ public class BloodRequestService {
         bloodRequest.setUrgency(createRequestDto.getUrgency());
         bloodRequest.setHospitalId(hospitalDto.getId());
         bloodRequest.setHospitalName(hospitalDto.getHospitalName());
-        bloodRequest.setLocation(modelMapper.map(hospitalDto.getServiceArea(), Point.class));
+        bloodRequest.setLocation(geometryMapper.toPoint(hospitalDto.getServiceArea()));
 
 
         if (createRequestDto.getExpiryTime() != null){
@@ -73,7 +92,14 @@ public class BloodRequestService {
         bloodRequest.setStatus(RequestStatus.PENDING);
 
         BloodRequest savedRequest = bloodRequestRepository.save(bloodRequest);
-        return modelMapper.map(savedRequest, BloodRequestDto.class);
+        rescheduleExpiryAfterCommit(savedRequest);
+        eventPublisher.publishEvent(RequestUpdateEvent.of(savedRequest, RequestUpdateType.CREATED));
+        // Matching starts once the request is committed, off the HTTP thread
+        eventPublisher.publishEvent(new BloodRequestCreatedEvent(
+                savedRequest.getId().toString(),
+                SecurityContextHolder.getContext().getAuthentication(),
+                Instant.now()));
+        return bloodRequestMapper.toDto(savedRequest);
     }
 
     /**
@@ -84,7 +110,7 @@ public class BloodRequestService {
     public BloodRequestDto getRequest(String requestId) {
         log.info("Fetching the blood request for request id: {}", requestId);
         BloodRequest bloodRequest = getBloodRequest(requestId);
-        return modelMapper.map(bloodRequest, BloodRequestDto.class);
+        return bloodRequestMapper.toDto(bloodRequest);
     }
 
     /**
@@ -103,7 +129,7 @@ public class BloodRequestService {
         bloodRequest.setUrgency(urgencyLevel);
         bloodRequest.setExpiryTime(setRequestExpiryTime(urgencyLevel));
 
-        return modelMapper.map(bloodRequestRepository.save(bloodRequest), BloodRequestDto.class);
+        return bloodRequestMapper.toDto(saveAndReschedule(bloodRequest, RequestUpdateType.DETAILS_UPDATED));
     }
 
     /**
@@ -121,7 +147,7 @@ public class BloodRequestService {
         }
 
         bloodRequest.setStatus(requestStatus);
-        return modelMapper.map(bloodRequestRepository.save(bloodRequest), BloodRequestDto.class);
+        return bloodRequestMapper.toDto(saveAndReschedule(bloodRequest, RequestUpdateType.STATUS_CHANGED));
     }
 
     /**
@@ -148,7 +174,7 @@ public class BloodRequestService {
         bloodRequest.setUrgency(updateRequestDto.getUrgency());
         bloodRequest.setUnitsRequired(updateRequestDto.getUnitsRequired());
 
-        return modelMapper.map(bloodRequestRepository.save(bloodRequest), BloodRequestDto.class);
+        return bloodRequestMapper.toDto(saveAndReschedule(bloodRequest, RequestUpdateType.DETAILS_UPDATED));
     }
 
     /**
@@ -157,21 +183,28 @@ public class BloodRequestService {
      * @return Page of request DTOs
      */
     public Page<BloodRequestDto> getAllRequests(PageRequest pageRequest) {
-        UUID userId = securityUtil.getCurrentUserId();
-        HospitalDto hospitalDto = userServiceClient.getHospitalByUserId(userId.toString()).getBody();
-        if (hospitalDto == null) {
-            throw new ResourceNotFoundException("Hospital not found with userId: " + userId);
-        }
-
-        String hospitalId = hospitalDto.getId();
+        String hospitalId = getCurrentHospitalId();
         log.info("Fetching requests for hospital {}", hospitalId);
 
-        if (!bloodRequestRepository.existsByHospitalId(hospitalId)) {
+        Page<BloodRequest> requests = bloodRequestRepository.findByHospitalId(hospitalId, pageRequest);
+        if (requests.isEmpty() && pageRequest.getPageNumber() == 0) {
             throw new ResourceNotFoundException("No requests found for hospital: " + hospitalId);
         }
+        return requests.map(bloodRequestMapper::toDto);
+    }
 
-        return bloodRequestRepository.findByHospitalId(hospitalId, pageRequest)
-                .map(bloodRequest -> modelMapper.map(bloodRequest, BloodRequestDto.class));
+    /**
+     * Gets a slice of the current hospital's requests, newest first, using keyset pagination
+     * @param cursor Continuation token from the previous slice, or null for the first slice
+     * @param size Maximum number of requests in the slice
+     * @param includeTotal Whether to also count all of the hospital's requests
+     * @return Slice of request DTOs with the cursor of the next slice
+     */
+    public BloodRequestSliceDto scrollRequests(String cursor, int size, boolean includeTotal) {
+        String hospitalId = getCurrentHospitalId();
+        log.info("Scrolling requests for hospital {}", hospitalId);
+        Specification<BloodRequest> spec = (root, query, cb) -> cb.equal(root.get("hospitalId"), hospitalId);
+        return scroll(spec, cursor, size, includeTotal);
     }
 
     /**
@@ -196,7 +229,45 @@ public class BloodRequestService {
         log.info("Canceling request {}", requestId);
         BloodRequest bloodRequest = getBloodRequest(requestId);
         bloodRequest.setStatus(RequestStatus.CANCELLED);
-        return modelMapper.map(bloodRequestRepository.save(bloodRequest), BloodRequestDto.class);
+        return bloodRequestMapper.toDto(saveAndReschedule(bloodRequest, RequestUpdateType.STATUS_CHANGED));
+    }
+
+    /**
+     * Saves a request, keeps its scheduled expiry in step with its status and expiry time,
+     * and publishes the change to dashboard subscribers
+     * @param bloodRequest Request to save
+     * @param updateType Kind of change made
+     * @return Saved request
+     */
+    private BloodRequest saveAndReschedule(BloodRequest bloodRequest, RequestUpdateType updateType) {
+        BloodRequest savedRequest = bloodRequestRepository.save(bloodRequest);
+        rescheduleExpiryAfterCommit(savedRequest);
+        eventPublisher.publishEvent(RequestUpdateEvent.of(savedRequest, updateType));
+        return savedRequest;
+    }
+
+    /**
+     * Schedules the expiry of a pending request, or cancels it otherwise, once the change is committed,
+     * so a rolled back change never leaves a schedule behind or drops a live one
+     * @param savedRequest Saved request
+     */
+    private void rescheduleExpiryAfterCommit(BloodRequest savedRequest) {
+        UUID requestId = savedRequest.getId();
+        LocalDateTime expiryTime = savedRequest.getExpiryTime();
+        boolean pending = savedRequest.getStatus() == RequestStatus.PENDING && expiryTime != null;
+        Runnable reschedule = pending
+                ? () -> expiryScheduler.schedule(requestId, expiryTime)
+                : () -> expiryScheduler.cancel(requestId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reschedule.run();
+                }
+            });
+        } else {
+            reschedule.run();
+        }
     }
 
     /**
@@ -227,6 +298,83 @@ public class BloodRequestService {
             LocalDateTime expiryEnd,
             PageRequest pageRequest) {
 
+        Page<BloodRequest> requests = bloodRequestRepository.findAll(
+                filterSpecification(status, bloodType, urgency, expiryStart, expiryEnd), pageRequest);
+
+        if (requests.isEmpty()) {
+            throw new ResourceNotFoundException("No requests matching criteria");
+        }
+
+        return requests.map(bloodRequestMapper::toDto);
+    }
+
+    /**
+     * Gets a slice of filtered requests, newest first, using keyset pagination
+     * @param status Filter by status
+     * @param bloodType Filter by blood type
+     * @param urgency Filter by urgency
+     * @param expiryStart Filter by expiry start date
+     * @param expiryEnd Filter by expiry end date
+     * @param cursor Continuation token from the previous slice, or null for the first slice
+     * @param size Maximum number of requests in the slice
+     * @param includeTotal Whether to also count all matching requests
+     * @return Slice of request DTOs with the cursor of the next slice
+     */
+    public BloodRequestSliceDto scrollFilteredRequests(
+            RequestStatus status,
+            BloodType bloodType,
+            UrgencyLevel urgency,
+            LocalDateTime expiryStart,
+            LocalDateTime expiryEnd,
+            String cursor,
+            int size,
+            boolean includeTotal) {
+        return scroll(filterSpecification(status, bloodType, urgency, expiryStart, expiryEnd),
+                cursor, size, includeTotal);
+    }
+
+    /**
+     * Reads one keyset slice ordered by (createdAt, id) descending. The next slice seeks past the
+     * last row of this one, so every slice costs the same however deep it is; the total is only
+     * counted when asked for.
+     */
+    private BloodRequestSliceDto scroll(Specification<BloodRequest> spec, String cursor, int size, boolean includeTotal) {
+        int limit = Math.clamp(size, 1, MAX_SLICE_SIZE);
+        Window<BloodRequest> window = bloodRequestRepository.findBy(spec, query -> query
+                .sortBy(SCROLL_SORT)
+                .limit(limit)
+                .scroll(RequestCursor.decode(cursor)));
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? RequestCursor.encode(window.positionAt(window.size() - 1))
+                : null;
+        return BloodRequestSliceDto.builder()
+                .content(window.map(bloodRequestMapper::toDto).getContent())
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .totalElements(includeTotal ? bloodRequestRepository.count(spec) : null)
+                .build();
+    }
+
+    /**
+     * Gets the ID of the hospital owned by the current user
+     * @return Hospital ID
+     */
+    public String getCurrentHospitalId() {
+        UUID userId = securityUtil.getCurrentUserId();
+        HospitalDto hospitalDto = userServiceClient.getHospitalByUserId(userId.toString()).getBody();
+        if (hospitalDto == null) {
+            throw new ResourceNotFoundException("Hospital not found with userId: " + userId);
+        }
+        return hospitalDto.getId();
+    }
+
+    private static Specification<BloodRequest> filterSpecification(
+            RequestStatus status,
+            BloodType bloodType,
+            UrgencyLevel urgency,
+            LocalDateTime expiryStart,
+            LocalDateTime expiryEnd) {
         Specification<BloodRequest> spec = Specification.where(null);
 
         if (status != null) {
@@ -245,13 +393,6 @@ public class BloodRequestService {
         } else if (expiryEnd != null) {
             spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("expiryTime"), expiryEnd));
         }
-
-        Page<BloodRequest> requests = bloodRequestRepository.findAll(spec, pageRequest);
-
-        if (requests.isEmpty()) {
-            throw new ResourceNotFoundException("No requests matching criteria");
-        }
-
-        return requests.map(request -> modelMapper.map(request, BloodRequestDto.class));
+        return spec;
     }
 }
\ No newline at end of file
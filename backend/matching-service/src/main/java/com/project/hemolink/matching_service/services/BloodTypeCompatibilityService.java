@@ -0,0 +1,95 @@
+package com.project.hemolink.matching_service.services;
+
+import com.project.hemolink.matching_service.entities.enums.BloodType;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.project.hemolink.matching_service.entities.enums.BloodType.*;
+
+/**
+ * Service handling blood type compatibility logic.
+ * Compatibility is held as one bitmask per blood type (bit {@code ordinal()} per type),
+ * so checks are a single integer AND. Keep this table identical to the copy in user-service;
+ * BloodTypeCompatibilityServiceTest pins the same 64 pairs in both services.
+ */
+@Service
+public class BloodTypeCompatibilityService {
+    // Recipient ordinal -> mask of donor types the recipient can receive from
+    private static final int[] DONOR_MASKS = new int[BloodType.values().length];
+    // Donor ordinal -> mask of recipient types the donor can give to
+    private static final int[] RECIPIENT_MASKS = new int[BloodType.values().length];
+    private static final Map<BloodType, List<BloodType>> COMPATIBLE_DONORS = new EnumMap<>(BloodType.class);
+    private static final Map<BloodType, List<BloodType>> COMPATIBLE_RECIPIENTS = new EnumMap<>(BloodType.class);
+
+    static {
+        accepts(A_POSITIVE, A_POSITIVE, A_NEGATIVE, O_POSITIVE, O_NEGATIVE);
+        accepts(A_NEGATIVE, A_NEGATIVE, O_NEGATIVE);
+        accepts(B_POSITIVE, B_POSITIVE, B_NEGATIVE, O_POSITIVE, O_NEGATIVE);
+        accepts(B_NEGATIVE, B_NEGATIVE, O_NEGATIVE);
+        accepts(AB_POSITIVE, A_POSITIVE, A_NEGATIVE, B_POSITIVE, B_NEGATIVE,
+                AB_POSITIVE, AB_NEGATIVE, O_POSITIVE, O_NEGATIVE);
+        accepts(AB_NEGATIVE, A_NEGATIVE, B_NEGATIVE, AB_NEGATIVE, O_NEGATIVE);
+        accepts(O_POSITIVE, O_POSITIVE, O_NEGATIVE);
+        accepts(O_NEGATIVE, O_NEGATIVE);
+
+        for (BloodType type : BloodType.values()) {
+            COMPATIBLE_DONORS.put(type, List.copyOf(BloodType.fromMask(DONOR_MASKS[type.ordinal()])));
+            COMPATIBLE_RECIPIENTS.put(type, List.copyOf(BloodType.fromMask(RECIPIENT_MASKS[type.ordinal()])));
+        }
+    }
+
+    private static void accepts(BloodType recipient, BloodType... donors) {
+        for (BloodType donor : donors) {
+            DONOR_MASKS[recipient.ordinal()] |= donor.mask();
+            RECIPIENT_MASKS[donor.ordinal()] |= recipient.mask();
+        }
+    }
+
+    /**
+     * Gets compatible blood types for a recipient
+     * @param recipientType The recipient's blood type
+     * @return List of compatible donor blood types
+     */
+    public List<BloodType> getCompatibleBloodTypes(BloodType recipientType) {
+        return recipientType == null ? Collections.emptyList() : COMPATIBLE_DONORS.get(recipientType);
+    }
+
+    /**
+     * Gets the blood types a donor can give to
+     * @param donorType The donor's blood type
+     * @return List of compatible recipient blood types
+     */
+    public List<BloodType> getCompatibleRecipientTypes(BloodType donorType) {
+        return donorType == null ? Collections.emptyList() : COMPATIBLE_RECIPIENTS.get(donorType);
+    }
+
+    /**
+     * @param recipientType The recipient's blood type
+     * @return Mask of donor blood types the recipient can receive from
+     */
+    public int getCompatibleDonorMask(BloodType recipientType) {
+        return recipientType == null ? 0 : DONOR_MASKS[recipientType.ordinal()];
+    }
+
+    /**
+     * @param donorType The donor's blood type
+     * @return Mask of recipient blood types the donor can give to
+     */
+    public int getCompatibleRecipientMask(BloodType donorType) {
+        return donorType == null ? 0 : RECIPIENT_MASKS[donorType.ordinal()];
+    }
+
+    /**
+     * Checks whether a donor can give to a recipient
+     * @param donorType The donor's blood type
+     * @param recipientType The recipient's blood type
+     * @return True if compatible
+     */
+    public boolean isCompatible(BloodType donorType, BloodType recipientType) {
+        return donorType != null && (getCompatibleDonorMask(recipientType) & donorType.mask()) != 0;
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.hemolink.matching_service.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs work under cluster-wide locks so scheduled jobs run on one matching-service instance at a time.
+ * Locks are Postgres session advisory locks held on a dedicated connection for the duration of the work;
+ * if the instance dies its session ends and the lock is released with it, so no lease expiry or fencing
+ * token is needed.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ClusterLockService {
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(hashtext(?))";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(hashtext(?))";
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Runs work if no other instance holds the named lock, without waiting for it
+     * @param lockName Lock name, unique per job or job shard
+     * @param work Work to run while holding the lock
+     * @return Result of the work, or empty if another instance holds the lock
+     */
+    public <T> Optional<T> tryRunExclusively(String lockName, Supplier<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!execute(connection, TRY_LOCK, lockName)) {
+                log.debug("Lock {} is held by another instance, skipping", lockName);
+                skipped(lockName).increment();
+                return Optional.empty();
+            }
+            try {
+                return Optional.ofNullable(work.get());
+            } finally {
+                execute(connection, UNLOCK, lockName);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to acquire cluster lock " + lockName, e);
+        }
+    }
+
+    private static boolean execute(Connection connection, String sql, String lockName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, lockName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private Counter skipped(String lockName) {
+        return Counter.builder("cluster_lock.skipped")
+                .description("Job runs skipped because another instance held the lock")
+                .tag("lock", lockName)
+                .register(meterRegistry);
+    }
+}
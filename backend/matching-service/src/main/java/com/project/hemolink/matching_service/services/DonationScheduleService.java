@@ -7,15 +7,18 @@ import com.project.hemolink.matching_service.dto.DonorDto;
 import com.project.hemolink.matching_service.entities.BloodRequest;
 import com.project.hemolink.matching_service.entities.Donation;
 import com.project.hemolink.matching_service.entities.enums.DonationStatus;
+import com.project.hemolink.matching_service.entities.enums.RequestUpdateType;
+import com.project.hemolink.matching_service.events.RequestUpdateEvent;
 import com.project.hemolink.matching_service.exception.DonorNotAvailableException;
 import com.project.hemolink.matching_service.exception.MatchConflictException;
 import com.project.hemolink.matching_service.exception.ResourceNotFoundException;
+import com.project.hemolink.matching_service.mappers.DonationMapper;
 import com.project.hemolink.matching_service.repositories.BloodRequestRepository;
 import com.project.hemolink.matching_service.repositories.DonationRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -30,7 +33,8 @@ public class DonationScheduleService {
     private final DonationRepository donationRepository;
     private final BloodRequestRepository bloodRequestRepository;
     private final UserServiceClient userServiceClient;
-    private final ModelMapper modelMapper;
+    private final DonationMapper donationMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Confirms a donation match and schedules it
@@ -68,10 +72,11 @@ public class DonationScheduleService {
         donation.setStatus(DonationStatus.SCHEDULED);
 
         Donation savedDonation = donationRepository.save(donation);
+        eventPublisher.publishEvent(RequestUpdateEvent.of(savedDonation, RequestUpdateType.DONATION_CONFIRMED));
 
         // Update donor availability
         userServiceClient.updateDonorAvailability(confirmMatchDto.getDonorId(), false);
 
-        return modelMapper.map(savedDonation, DonationDto.class);
+        return donationMapper.toDto(savedDonation);
     }
 }
\ No newline at end of file
@@ -5,15 +5,18 @@ import com.project.hemolink.matching_service.entities.BloodRequest;
 import com.project.hemolink.matching_service.entities.Donation;
 import com.project.hemolink.matching_service.entities.enums.DonationStatus;
 import com.project.hemolink.matching_service.entities.enums.RequestStatus;
+import com.project.hemolink.matching_service.entities.enums.RequestUpdateType;
+import com.project.hemolink.matching_service.events.RequestUpdateEvent;
 import com.project.hemolink.matching_service.exception.BadRequestException;
 import com.project.hemolink.matching_service.exception.InvalidDonationStatusException;
 import com.project.hemolink.matching_service.exception.RequestExpiredException;
 import com.project.hemolink.matching_service.exception.ResourceNotFoundException;
+import com.project.hemolink.matching_service.mappers.DonationMapper;
 import com.project.hemolink.matching_service.repositories.BloodRequestRepository;
 import com.project.hemolink.matching_service.repositories.DonationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,7 +33,8 @@ import java.util.UUID;
 public class DonationService {
     private final DonationRepository donationRepository;
     private final BloodRequestRepository bloodRequestRepository;
-    private final ModelMapper modelMapper;
+    private final DonationMapper donationMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     /**
@@ -60,7 +64,9 @@ public class DonationService {
             updateRequestStatusIfFullfilled(donation.getRequest());
         }
 
-        return modelMapper.map(donationRepository.save(donation), DonationDto.class);
+        Donation savedDonation = donationRepository.save(donation);
+        eventPublisher.publishEvent(RequestUpdateEvent.of(savedDonation, RequestUpdateType.DONATION_UPDATED));
+        return donationMapper.toDto(savedDonation);
     }
 
 
@@ -75,7 +81,7 @@ public class DonationService {
             throw new ResourceNotFoundException("No donations for donor "+donorId);
         }
         return donations.stream()
-                .map(donation -> modelMapper.map(donation, DonationDto.class))
+                .map(donationMapper::toDto)
                 .toList();
     }
 
@@ -93,6 +99,7 @@ public class DonationService {
         if (completedDonations >= request.getUnitsRequired()) {
             request.setStatus(RequestStatus.FULFILLED);
             bloodRequestRepository.save(request);
+            eventPublisher.publishEvent(RequestUpdateEvent.of(request, RequestUpdateType.STATUS_CHANGED));
         }
     }
 }
\ No newline at end of file
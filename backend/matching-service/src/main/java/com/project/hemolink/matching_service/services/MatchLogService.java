@@ -1,17 +1,25 @@
 package com.project.hemolink.matching_service.services;
 
+import com.project.hemolink.matching_service.dto.AutoMatchResultDto;
+import com.project.hemolink.matching_service.dto.DonorMatchDto;
 import com.project.hemolink.matching_service.dto.MatchLogDto;
 import com.project.hemolink.matching_service.entities.MatchLog;
 import com.project.hemolink.matching_service.entities.enums.NotificationStatus;
+import com.project.hemolink.matching_service.events.RequestUpdateEvent;
+import com.project.hemolink.matching_service.events.RequestsExpiredEvent;
 import com.project.hemolink.matching_service.exception.ResourceNotFoundException;
+import com.project.hemolink.matching_service.mappers.MatchLogMapper;
 import com.project.hemolink.matching_service.repositories.MatchLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,7 +31,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class MatchLogService {
     private final MatchLogRepository matchLogRepository;
-    private final ModelMapper modelMapper;
+    private final MatchLogMapper matchLogMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Logs a new donor-request match
@@ -38,6 +47,31 @@ public class MatchLogService {
         log.setMatchedAt(LocalDateTime.now());
         log.setStatus(NotificationStatus.PENDING);
         matchLogRepository.save(log);
+        eventPublisher.publishEvent(RequestUpdateEvent.matchLogged(requestId, donorId));
+    }
+
+    /**
+     * Logs the matches of several auto-match results in one batch
+     * @param results Auto-match results whose top matches are logged
+     */
+    @Transactional
+    public void logMatches(List<AutoMatchResultDto> results) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MatchLog> matchLogs = new ArrayList<>();
+        for (AutoMatchResultDto result : results) {
+            for (DonorMatchDto match : result.getTopMatches()) {
+                MatchLog matchLog = new MatchLog();
+                matchLog.setRequestId(result.getRequestId());
+                matchLog.setDonorId(match.getDonorId());
+                matchLog.setMatchedAt(now);
+                matchLog.setStatus(NotificationStatus.PENDING);
+                matchLogs.add(matchLog);
+            }
+        }
+        log.info("Logging {} matches for {} requests", matchLogs.size(), results.size());
+        matchLogRepository.saveAll(matchLogs);
+        matchLogs.forEach(matchLog -> eventPublisher.publishEvent(
+                RequestUpdateEvent.matchLogged(matchLog.getRequestId(), matchLog.getDonorId())));
     }
 
     /**
@@ -50,7 +84,7 @@ public class MatchLogService {
             throw new ResourceNotFoundException("No pending notifications");
         }
         return matchLogs.stream()
-                .map(matchLog -> modelMapper.map(matchLog, MatchLogDto.class))
+                .map(matchLogMapper::toDto)
                 .toList();
     }
 
@@ -74,4 +108,18 @@ public class MatchLogService {
     public List<MatchLog> getLogsForRequest(String requestIdStr) {
         return matchLogRepository.findByRequestIdAndStatus(requestIdStr, NotificationStatus.PENDING);
     }
-}
\ No newline at end of file
+
+    /**
+     * Stops pending notifications for requests that have expired
+     * @param event Requests expired event
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onRequestsExpired(RequestsExpiredEvent event) {
+        int updated = matchLogRepository.updateStatusForRequests(
+                event.requestIds(), NotificationStatus.PENDING, NotificationStatus.EXPIRED);
+        if (updated > 0) {
+            log.info("Marked {} pending match logs as expired", updated);
+        }
+    }
+}
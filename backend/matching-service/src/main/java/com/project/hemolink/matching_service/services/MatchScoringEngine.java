@@ -0,0 +1,157 @@
+package com.project.hemolink.matching_service.services;
+
+import com.project.hemolink.matching_service.dto.DonorMatchDto;
+import com.project.hemolink.matching_service.entities.enums.UrgencyLevel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scores donor candidates and selects the best K.
+ * Score = distanceWeight * distanceScore + (1 - distanceWeight) * recencyScore, where the
+ * distance weight depends on the request's urgency. Scoring runs over primitive arrays and
+ * selection uses a bounded min-heap, so ranking N candidates costs O(N log K).
+ */
+@Component
+public class MatchScoringEngine {
+    /** Marks a donor without a recorded donation; scores zero recency */
+    public static final long NEVER_DONATED = Long.MIN_VALUE;
+
+    private static final double MAX_DISTANCE_KM = 100.0;  // 100km max distance
+    private static final double RECENCY_WINDOW_DAYS = 180.0; // 6 month window
+
+    private final double[] distanceWeights = new double[UrgencyLevel.values().length];
+    private final double defaultDistanceWeight;
+
+    public MatchScoringEngine(@Value("${matching.scoring.distance-weight.default:0.6}") double defaultDistanceWeight,
+                              @Value("${matching.scoring.distance-weight.low:0.6}") double lowDistanceWeight,
+                              @Value("${matching.scoring.distance-weight.medium:0.6}") double mediumDistanceWeight,
+                              @Value("${matching.scoring.distance-weight.high:0.6}") double highDistanceWeight) {
+        this.defaultDistanceWeight = defaultDistanceWeight;
+        distanceWeights[UrgencyLevel.LOW.ordinal()] = lowDistanceWeight;
+        distanceWeights[UrgencyLevel.MEDIUM.ordinal()] = mediumDistanceWeight;
+        distanceWeights[UrgencyLevel.HIGH.ordinal()] = highDistanceWeight;
+    }
+
+    /**
+     * Scores donors and returns the best ones, highest score first
+     * @param donors Candidate donors
+     * @param urgency Request urgency, selecting the score weights
+     * @param limit Maximum number of donors to return
+     * @return Top donors with their score set
+     */
+    public List<DonorMatchDto> rankTop(List<DonorMatchDto> donors, UrgencyLevel urgency, int limit) {
+        int n = donors.size();
+        double[] distancesKm = new double[n];
+        long[] lastDonationEpochDays = new long[n];
+        for (int i = 0; i < n; i++) {
+            DonorMatchDto donor = donors.get(i);
+            distancesKm[i] = donor.getDistanceKm();
+            LocalDate lastDonation = donor.getLastDonationDate();
+            lastDonationEpochDays[i] = lastDonation == null ? NEVER_DONATED : lastDonation.toEpochDay();
+        }
+
+        double[] scores = new double[n];
+        int[] top = topK(distancesKm, lastDonationEpochDays, LocalDate.now().toEpochDay(), urgency, limit, scores);
+
+        List<DonorMatchDto> ranked = new ArrayList<>(top.length);
+        for (int index : top) {
+            DonorMatchDto donor = donors.get(index);
+            donor.setScore(scores[index]);
+            ranked.add(donor);
+        }
+        return ranked;
+    }
+
+    /**
+     * Scores candidates and selects the best K
+     * @param distancesKm Candidate distances in kilometers
+     * @param lastDonationEpochDays Candidate last donation as epoch day, or {@link #NEVER_DONATED}
+     * @param todayEpochDay Today as epoch day
+     * @param urgency Request urgency, selecting the score weights
+     * @param k Maximum number of candidates to select
+     * @param scores Output array receiving every candidate's score
+     * @return Indexes of the selected candidates, highest score first; ties keep input order
+     */
+    public int[] topK(double[] distancesKm, long[] lastDonationEpochDays, long todayEpochDay,
+                      UrgencyLevel urgency, int k, double[] scores) {
+        int n = distancesKm.length;
+        double distanceWeight = urgency == null ? defaultDistanceWeight : distanceWeights[urgency.ordinal()];
+        double recencyWeight = 1 - distanceWeight;
+
+        for (int i = 0; i < n; i++) {
+            double distanceScore = 1 - Math.min(distancesKm[i] / MAX_DISTANCE_KM, 1);
+            long lastDonation = lastDonationEpochDays[i];
+            double recencyScore = lastDonation == NEVER_DONATED
+                    ? 0
+                    : Math.max(0, 1 - ((todayEpochDay - lastDonation) / RECENCY_WINDOW_DAYS));
+            scores[i] = (distanceScore * distanceWeight) + (recencyScore * recencyWeight);
+        }
+
+        int size = Math.max(0, Math.min(k, n));
+        if (size == 0) {
+            return new int[0];
+        }
+
+        // Min-heap of candidate indexes: the root is the weakest of the current top K
+        int[] heap = new int[size];
+        for (int i = 0; i < size; i++) {
+            heap[i] = i;
+            siftUp(heap, i, scores);
+        }
+        for (int i = size; i < n; i++) {
+            if (better(i, heap[0], scores)) {
+                heap[0] = i;
+                siftDown(heap, 0, size, scores);
+            }
+        }
+
+        // Pop weakest first, filling the result from the back
+        int[] ranked = new int[size];
+        for (int remaining = size; remaining > 0; remaining--) {
+            ranked[remaining - 1] = heap[0];
+            heap[0] = heap[remaining - 1];
+            siftDown(heap, 0, remaining - 1, scores);
+        }
+        return ranked;
+    }
+
+    // Higher score wins; on equal scores the earlier candidate wins
+    private static boolean better(int a, int b, double[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int position, double[] scores) {
+        int item = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!better(heap[parent], item, scores)) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = item;
+    }
+
+    private static void siftDown(int[] heap, int position, int size, double[] scores) {
+        int item = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && better(heap[child], heap[right], scores)) {
+                child = right;
+            }
+            if (!better(item, heap[child], scores)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = item;
+    }
+}
@@ -17,13 +17,11 @@ import com.project.hemolink.matching_service.repositories.MatchLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.locationtech.jts.geom.Point;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
 
@@ -38,7 +36,14 @@ public class MatchingService {
     private final UserServiceClient userServiceClient;
     private final MatchLogRepository matchLogRepository;
     private final DonationRepository donationRepository;
-    private final ModelMapper modelMapper;
+    private final BloodTypeCompatibilityService compatibilityService;
+    private final MatchScoringEngine scoringEngine;
+
+    @Value("${matching.candidate-pool.multiplier:4}")
+    private int candidatePoolMultiplier;
+
+    @Value("${matching.candidate-pool.max-size:200}")
+    private int maxCandidatePoolSize;
 
     /**
      * Finds compatible donors for a request
@@ -62,45 +67,32 @@ public class MatchingService {
         // Convert location to WKT format
 
 
-        // Find eligible donors
+        // Find eligible donors, fetching more than needed so scoring can prefer a slightly
+        // farther donor over a nearer one
         List<DonorMatchDto> donors = userServiceClient.findNearByEligibleDonors(
                 request.getLocation(),
                 request.getBloodType(),
                 50, // 50km radius
-                limit
+                candidatePoolSize(limit)
         );
 
-        // Calculate scores for each donor
-        donors.forEach(donor -> {
-            double distanceScore = normalizeDistance(donor.getDistanceKm());
-            double recencyScore = calculateRecencyScore(donor.getLastDonationDate());
-            donor.setScore((distanceScore*0.6) + (recencyScore * 0.4)); // Weighted score
-        });
-
-        // Sort by score and limit results
-        return donors.stream()
-                .sorted((d1, d2) -> Double.compare(d2.getScore(), d1.getScore()))
-                .limit(limit)
+        // Guard against donors user-service returned under a diverging compatibility table
+        int donorMask = compatibilityService.getCompatibleDonorMask(request.getBloodType());
+        donors = donors.stream()
+                .filter(donor -> donor.getBloodType() != null && (donorMask & donor.getBloodType().mask()) != 0)
                 .toList();
-    }
 
-    /**
-     * Calculates recency score based on last donation date
-     * @param lastDonationDate Last donation date
-     * @return Score (0-1)
-     */
-    private double calculateRecencyScore(LocalDate lastDonationDate) {
-        long daysSinceDonation = ChronoUnit.DAYS.between(lastDonationDate, LocalDate.now());
-        return Math.max(0, 1-(daysSinceDonation/180.0)); // 6 month window
+        return scoringEngine.rankTop(donors, request.getUrgency(), limit);
     }
 
     /**
-     * Normalizes distance to 0-1 range
-     * @param distanceKm Distance in km
-     * @return Normalized score
+     * Number of candidates to fetch for a result of the given size
+     * @param limit Maximum number of donors to return
+     * @return A multiple of the limit, capped, but never below the limit
      */
-    private double normalizeDistance(double distanceKm) {
-        return 1 - Math.min(distanceKm / 100, 1); // 100km max distance
+    private int candidatePoolSize(int limit) {
+        long pool = (long) limit * Math.max(1, candidatePoolMultiplier);
+        return (int) Math.max(limit, Math.min(pool, maxCandidatePoolSize));
     }
 
     /**
@@ -0,0 +1,109 @@
+package com.project.hemolink.matching_service.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.hemolink.matching_service.dto.NotificationEventDto;
+import com.project.hemolink.matching_service.events.RequestUpdateEvent;
+import com.project.hemolink.matching_service.events.RequestsExpiredEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+
+/**
+ * Publishes match, confirmation and expiry events to Kafka for notification-service.
+ * Events are sent after their transaction commits and without waiting for the broker, so
+ * donor notification fan-out adds no latency to the matching path. Records are keyed by
+ * request ID, keeping each request's events in order on one partition.
+ */
+@Slf4j
+@Service
+public class NotificationEventPublisher {
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final RequestHospitalLookup requestHospitalLookup;
+    private final String topic;
+
+    private final Counter published;
+    private final Counter failed;
+
+    public NotificationEventPublisher(KafkaTemplate<String, String> kafkaTemplate,
+                                      ObjectMapper objectMapper,
+                                      RequestHospitalLookup requestHospitalLookup,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${notification-events.topic:notification-events}") String topic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.requestHospitalLookup = requestHospitalLookup;
+        this.topic = topic;
+        this.published = Counter.builder("notification_events.published")
+                .description("Notification events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.failed = Counter.builder("notification_events.failed")
+                .description("Notification events Kafka failed to accept")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes an event for donor matches and donation confirmations once their transaction has committed
+     * @param event Request update event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestUpdate(RequestUpdateEvent event) {
+        switch (event.type()) {
+            case MATCH_LOGGED -> send(NotificationEventDto.donorMatched(event.requestId(),
+                    hospitalIdOf(event), event.donorId(), event.occurredAt()));
+            case DONATION_CONFIRMED -> send(NotificationEventDto.donationConfirmed(event.requestId(),
+                    hospitalIdOf(event), event.donorId(), event.donationId(), event.occurredAt()));
+            default -> {
+                // Other updates only concern the hospital dashboard
+            }
+        }
+    }
+
+    /**
+     * Publishes an event for each expired request
+     * @param event Requests expired event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestsExpired(RequestsExpiredEvent event) {
+        Map<String, String> hospitals = requestHospitalLookup.hospitalIdsOf(event.requestIds());
+        for (String requestId : event.requestIds()) {
+            send(NotificationEventDto.requestExpired(requestId, hospitals.get(requestId), event.expiredAt()));
+        }
+    }
+
+    private String hospitalIdOf(RequestUpdateEvent event) {
+        return event.hospitalId() != null ? event.hospitalId() : requestHospitalLookup.hospitalIdOf(event.requestId());
+    }
+
+    private void send(NotificationEventDto event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize notification event {}", event.eventKey(), e);
+            failed.increment();
+            return;
+        }
+        try {
+            kafkaTemplate.send(topic, event.requestId(), payload).whenComplete((result, e) -> {
+                if (e != null) {
+                    log.warn("Failed to publish notification event {}", event.eventKey(), e);
+                    failed.increment();
+                } else {
+                    published.increment();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Broker metadata unavailable within max.block.ms
+            log.warn("Failed to publish notification event {}", event.eventKey(), e);
+            failed.increment();
+        }
+    }
+}
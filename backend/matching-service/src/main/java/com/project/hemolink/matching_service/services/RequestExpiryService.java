@@ -1,40 +1,129 @@
 package com.project.hemolink.matching_service.services;
 
-import com.project.hemolink.matching_service.entities.BloodRequest;
-import com.project.hemolink.matching_service.entities.enums.RequestStatus;
+import com.project.hemolink.matching_service.events.RequestsExpiredEvent;
 import com.project.hemolink.matching_service.repositories.BloodRequestRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
- * Service for handling request expiry
+ * Service for handling request expiry.
+ * Requests are normally expired at their expiry time by a RequestExpiryScheduler; a periodic
+ * sweep catches anything it missed. Expired pending requests are updated in the database in
+ * chunks, each chunk in its own short transaction, and their IDs published as a
+ * {@link RequestsExpiredEvent}.
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class RequestExpiryService {
     private final BloodRequestRepository bloodRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterLockService clusterLockService;
+    private final int chunkSize;
+    private final int shards;
+
+    private final Counter expired;
+    private final Timer duration;
+
+    public RequestExpiryService(BloodRequestRepository bloodRequestRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                ClusterLockService clusterLockService,
+                                MeterRegistry meterRegistry,
+                                @Value("${request-expiry.chunk-size:500}") int chunkSize,
+                                @Value("${request-expiry.shards:1}") int shards) {
+        this.bloodRequestRepository = bloodRequestRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clusterLockService = clusterLockService;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.shards = Math.max(1, shards);
+        this.expired = Counter.builder("request_expiry.expired")
+                .description("Blood requests moved from PENDING to EXPIRED")
+                .register(meterRegistry);
+        this.duration = Timer.builder("request_expiry.duration")
+                .description("Time taken by one expiry run")
+                .register(meterRegistry);
+    }
 
     /**
-     * Scheduled task to expire old requests (runs every 5 minutes)
+     * Scheduled sweep expiring any overdue requests the expiry scheduler missed (runs hourly).
+     * Requests are split into shards by hash of their ID and each shard is swept under its own
+     * cluster lock, so every shard is processed by one instance per run. Instances start at a
+     * random shard, spreading a large backlog across them.
      */
-    @Scheduled(cron = "0 */5 * * * *")
-    @Transactional
+    @Scheduled(cron = "${request-expiry.cron:0 0 * * * *}")
     public void expireOldRequests() {
+        duration.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            int firstShard = ThreadLocalRandom.current().nextInt(shards);
+            int total = 0;
+            for (int i = 0; i < shards; i++) {
+                int shard = (firstShard + i) % shards;
+                total += clusterLockService
+                        .tryRunExclusively("request-expiry:" + shard, () -> expireShard(now, shard))
+                        .orElse(0);
+            }
+
+            if (total > 0) {
+                log.info("Expired {} requests", total);
+            }
+        });
+    }
+
+    /**
+     * Expires specific requests whose expiry time has been reached
+     * @param requestIds IDs of requests due to expire
+     * @return Number of requests expired; requests no longer pending or not yet due are skipped
+     */
+    public int expireRequests(Collection<UUID> requestIds) {
         LocalDateTime now = LocalDateTime.now();
-        List<BloodRequest> expiredRequests = bloodRequestRepository
-                .findByStatusAndExpiryTimeBefore(RequestStatus.PENDING, now);
-
-        if (!expiredRequests.isEmpty()) {
-            log.info("Expiring {} requests", expiredRequests.size());
-            expiredRequests.forEach(request -> request.setStatus(RequestStatus.EXPIRED));
-            bloodRequestRepository.saveAll(expiredRequests);
-        }
+        return expireAndPublish(() -> bloodRequestRepository.expireDueRequests(requestIds, now));
+    }
+
+    /**
+     * Expires all overdue requests of one shard, one chunk per transaction
+     * @param now Cut-off time for the run
+     * @param shard Shard to sweep
+     * @return Number of requests expired
+     */
+    private int expireShard(LocalDateTime now, int shard) {
+        int total = 0;
+        int chunk;
+        do {
+            chunk = expireAndPublish(() -> bloodRequestRepository.expirePendingRequests(now, shard, shards, chunkSize));
+            total += chunk;
+        } while (chunk == chunkSize);
+        return total;
+    }
+
+    private int expireAndPublish(Supplier<List<UUID>> update) {
+        Integer count = transactionTemplate.execute(status -> {
+            List<UUID> ids = update.get();
+            if (!ids.isEmpty()) {
+                eventPublisher.publishEvent(new RequestsExpiredEvent(
+                        ids.stream().map(UUID::toString).toList(), Instant.now()));
+            }
+            return ids.size();
+        });
+        int expiredCount = count == null ? 0 : count;
+        expired.increment(expiredCount);
+        return expiredCount;
     }
-}
\ No newline at end of file
+}
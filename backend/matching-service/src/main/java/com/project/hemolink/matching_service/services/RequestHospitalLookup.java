@@ -0,0 +1,51 @@
+package com.project.hemolink.matching_service.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.hemolink.matching_service.entities.BloodRequest;
+import com.project.hemolink.matching_service.repositories.BloodRequestRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the hospital owning each blood request, for events that only carry request IDs.
+ * A request never moves to another hospital, so resolved IDs are cached without invalidation.
+ */
+@Component
+public class RequestHospitalLookup {
+    private final BloodRequestRepository bloodRequestRepository;
+    private final Cache<String, String> hospitalIds = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    public RequestHospitalLookup(BloodRequestRepository bloodRequestRepository) {
+        this.bloodRequestRepository = bloodRequestRepository;
+    }
+
+    /**
+     * Gets the hospital IDs of several requests, loading the uncached ones in one query
+     * @param requestIds Request IDs
+     * @return Hospital ID per request ID; requests that no longer exist are absent
+     */
+    public Map<String, String> hospitalIdsOf(Collection<String> requestIds) {
+        return hospitalIds.getAll(requestIds, missing -> bloodRequestRepository
+                .findAllById(missing.stream().map(UUID::fromString).toList())
+                .stream()
+                .filter(request -> request.getHospitalId() != null)
+                .collect(Collectors.toMap(request -> request.getId().toString(), BloodRequest::getHospitalId)));
+    }
+
+    /**
+     * Gets the hospital ID of a request
+     * @param requestId Request ID
+     * @return Hospital ID, or null if the request no longer exists
+     */
+    public String hospitalIdOf(String requestId) {
+        return hospitalIdsOf(List.of(requestId)).get(requestId);
+    }
+}
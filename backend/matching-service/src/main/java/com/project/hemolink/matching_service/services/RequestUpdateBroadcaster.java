@@ -0,0 +1,275 @@
+package com.project.hemolink.matching_service.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.hemolink.matching_service.entities.enums.RequestStatus;
+import com.project.hemolink.matching_service.entities.enums.RequestUpdateType;
+import com.project.hemolink.matching_service.events.RequestUpdateEvent;
+import com.project.hemolink.matching_service.events.RequestsExpiredEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams blood request updates to hospital dashboards over Server-Sent Events.
+ * Committed updates are published on a Redis channel; every instance listens on it and
+ * fans each update out to the emitters it holds for the owning hospital, so a dashboard
+ * gets updates whichever instance made the change. Each stream has its own bounded send
+ * queue drained on a virtual thread, so a slow connection only delays its own updates;
+ * a stream that falls too far behind is closed and the dashboard reconnects.
+ */
+@Slf4j
+@Service
+public class RequestUpdateBroadcaster {
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final RequestHospitalLookup requestHospitalLookup;
+    private final String channel;
+    private final long emitterTimeoutMillis;
+    private final Duration heartbeatInterval;
+    private final int maxPendingEvents;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeat;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter delivered;
+
+    public RequestUpdateBroadcaster(RedisTemplate<String, String> redisTemplate,
+                                    RedisMessageListenerContainer listenerContainer,
+                                    ObjectMapper objectMapper,
+                                    RequestHospitalLookup requestHospitalLookup,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${request-updates.channel:request-updates}") String channel,
+                                    @Value("${request-updates.emitter-timeout:30m}") Duration emitterTimeout,
+                                    @Value("${request-updates.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                    @Value("${request-updates.max-pending-events:100}") int maxPendingEvents) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.requestHospitalLookup = requestHospitalLookup;
+        this.channel = channel;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.heartbeatInterval = heartbeatInterval;
+        this.maxPendingEvents = Math.max(1, maxPendingEvents);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "request-updates-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("request_updates.subscribers", subscribers,
+                        map -> map.values().stream().mapToInt(Set::size).sum())
+                .description("Open dashboard streams on this instance")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("request_updates.delivered")
+                .description("Request updates sent to dashboard streams")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        listenerContainer.addMessageListener((message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                ChannelTopic.of(channel));
+        long interval = heartbeatInterval.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * Opens an update stream for a hospital's requests
+     * @param hospitalId Hospital ID
+     * @return Emitter receiving the hospital's request updates
+     */
+    public SseEmitter subscribe(String hospitalId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(hospitalId, emitter);
+        subscribers.compute(hospitalId, (id, streams) -> {
+            Set<Subscriber> updated = streams == null ? ConcurrentHashMap.newKeySet() : streams;
+            updated.add(subscriber);
+            return updated;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        log.debug("Hospital {} subscribed to request updates", hospitalId);
+        return emitter;
+    }
+
+    /**
+     * Relays a request update to all instances once its transaction has committed
+     * @param event Request update event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestUpdate(RequestUpdateEvent event) {
+        if (event.hospitalId() != null) {
+            relay(event);
+            return;
+        }
+        String hospitalId = requestHospitalLookup.hospitalIdOf(event.requestId());
+        if (hospitalId != null) {
+            relay(event.withHospitalId(hospitalId));
+        }
+    }
+
+    /**
+     * Relays an update for each expired request
+     * @param event Requests expired event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestsExpired(RequestsExpiredEvent event) {
+        Map<String, String> hospitals = requestHospitalLookup.hospitalIdsOf(event.requestIds());
+        for (String requestId : event.requestIds()) {
+            String hospitalId = hospitals.get(requestId);
+            if (hospitalId != null) {
+                relay(new RequestUpdateEvent(requestId, hospitalId, RequestUpdateType.STATUS_CHANGED,
+                        RequestStatus.EXPIRED, null, null, event.expiredAt()));
+            }
+        }
+    }
+
+    private void relay(RequestUpdateEvent event) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to relay update for request {}, delivering on this instance only", event.requestId(), e);
+            deliver(event);
+        }
+    }
+
+    private void onMessage(String payload) {
+        try {
+            deliver(objectMapper.readValue(payload, RequestUpdateEvent.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed request update: {}", payload);
+        }
+    }
+
+    private void deliver(RequestUpdateEvent event) {
+        Set<Subscriber> streams = subscribers.get(event.hospitalId());
+        if (streams == null) {
+            return;
+        }
+        for (Subscriber subscriber : streams) {
+            subscriber.enqueue(SseEmitter.event()
+                    .name(event.type().name())
+                    .data(event, MediaType.APPLICATION_JSON), true);
+        }
+    }
+
+    private void sendHeartbeats() {
+        subscribers.values().forEach(streams ->
+                streams.forEach(subscriber -> subscriber.enqueue(SseEmitter.event().comment("heartbeat"), false)));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.hospitalId, (id, streams) -> {
+            streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    /**
+     * Event waiting to be written to a stream
+     * @param event SSE event
+     * @param update True for request updates, false for heartbeats
+     */
+    private record Outgoing(SseEmitter.SseEventBuilder event, boolean update) {
+    }
+
+    /**
+     * A dashboard stream and its send queue. At most one drain task runs per stream,
+     * so events are written in the order they were queued.
+     */
+    private final class Subscriber {
+        private final String hospitalId;
+        private final SseEmitter emitter;
+        private final Queue<Outgoing> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(String hospitalId, SseEmitter emitter) {
+            this.hospitalId = hospitalId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event, boolean update) {
+            if (queued.incrementAndGet() > maxPendingEvents) {
+                queued.decrementAndGet();
+                log.warn("Closing stalled request update stream of hospital {}", hospitalId);
+                close(new IllegalStateException("Too many pending request updates"));
+                return;
+            }
+            queue.add(new Outgoing(event, update));
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Outgoing outgoing;
+                while ((outgoing = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    if (!send(outgoing)) {
+                        return;
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the flag was cleared needs a drainer
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private boolean send(Outgoing outgoing) {
+            try {
+                emitter.send(outgoing.event());
+                if (outgoing.update()) {
+                    delivered.increment();
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; drop the stream
+                close(e);
+                return false;
+            }
+        }
+
+        private void close(Throwable cause) {
+            unsubscribe(this);
+            queue.clear();
+            emitter.completeWithError(cause);
+        }
+    }
+}
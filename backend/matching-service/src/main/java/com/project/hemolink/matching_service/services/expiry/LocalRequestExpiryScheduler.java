@@ -0,0 +1,147 @@
+package com.project.hemolink.matching_service.services.expiry;
+
+import com.project.hemolink.matching_service.repositories.BloodRequestRepository;
+import com.project.hemolink.matching_service.services.RequestExpiryService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process expiry scheduler backed by a {@link DelayQueue}.
+ * A single worker thread sleeps until the earliest expiry is due, then expires it together
+ * with anything else already due. Suited to a single matching-service instance.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "request-expiry.scheduler", havingValue = "local", matchIfMissing = true)
+public class LocalRequestExpiryScheduler implements RequestExpiryScheduler {
+    private final RequestExpiryService requestExpiryService;
+    private final BloodRequestRepository bloodRequestRepository;
+    private final int batchSize;
+
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+    // Current entry per request; an entry that fires after being replaced is ignored
+    private final Map<UUID, Entry> current = new ConcurrentHashMap<>();
+    private final Thread worker;
+    private final Timer lateness;
+
+    public LocalRequestExpiryScheduler(RequestExpiryService requestExpiryService,
+                                       BloodRequestRepository bloodRequestRepository,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${request-expiry.batch-size:100}") int batchSize) {
+        this.requestExpiryService = requestExpiryService;
+        this.bloodRequestRepository = bloodRequestRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.worker = Thread.ofPlatform().name("request-expiry").daemon().unstarted(this::run);
+
+        Gauge.builder("request_expiry.scheduled", current, Map::size)
+                .description("Pending requests with a scheduled expiry")
+                .register(meterRegistry);
+        this.lateness = Timer.builder("request_expiry.lateness")
+                .description("Time from a request's expiry time until it was expired")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the expiry times of all pending requests and starts the worker
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<ScheduledExpiry> pending = bloodRequestRepository.findPendingExpiries();
+        pending.forEach(expiry -> schedule(expiry.requestId(), expiry.expiryTime()));
+        log.info("Scheduled expiry of {} pending requests", pending.size());
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.interrupt();
+    }
+
+    @Override
+    public void schedule(UUID requestId, LocalDateTime expiryTime) {
+        Entry entry = new Entry(new ScheduledExpiry(requestId, expiryTime));
+        Entry previous = current.put(requestId, entry);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        queue.put(entry);
+    }
+
+    @Override
+    public void cancel(UUID requestId) {
+        Entry previous = current.remove(requestId);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+    }
+
+    private void run() {
+        List<Entry> due = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                due.add(queue.take());
+                queue.drainTo(due, batchSize - 1);
+                fire(due);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Failed to expire requests, the periodic sweep will pick them up", e);
+            } finally {
+                due.clear();
+            }
+        }
+    }
+
+    private void fire(List<Entry> due) {
+        long now = System.currentTimeMillis();
+        List<UUID> requestIds = new ArrayList<>(due.size());
+        for (Entry entry : due) {
+            UUID requestId = entry.expiry.requestId();
+            if (current.remove(requestId, entry)) {
+                requestIds.add(requestId);
+                lateness.record(Math.max(0, now - entry.dueAtMillis), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (!requestIds.isEmpty()) {
+            requestExpiryService.expireRequests(requestIds);
+        }
+    }
+
+    private static final class Entry implements Delayed {
+        private final ScheduledExpiry expiry;
+        private final long dueAtMillis;
+
+        private Entry(ScheduledExpiry expiry) {
+            this.expiry = expiry;
+            this.dueAtMillis = expiry.dueAtMillis();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((Entry) other).dueAtMillis);
+        }
+    }
+}
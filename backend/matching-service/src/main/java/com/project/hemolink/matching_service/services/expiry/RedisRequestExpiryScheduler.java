@@ -0,0 +1,144 @@
+package com.project.hemolink.matching_service.services.expiry;
+
+import com.project.hemolink.matching_service.repositories.BloodRequestRepository;
+import com.project.hemolink.matching_service.services.RequestExpiryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Expiry scheduler shared between matching-service instances through a Redis sorted set
+ * of request IDs scored by expiry time. Every instance polls for due members; a member is
+ * processed only by the instance whose ZREM removed it, so no request is expired twice.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "request-expiry.scheduler", havingValue = "redis")
+public class RedisRequestExpiryScheduler implements RequestExpiryScheduler {
+    private final RequestExpiryService requestExpiryService;
+    private final BloodRequestRepository bloodRequestRepository;
+    private final ZSetOperations<String, String> schedule;
+    private final String key;
+    private final Duration pollInterval;
+    private final int batchSize;
+
+    private final ScheduledExecutorService poller;
+    private final Timer lateness;
+
+    public RedisRequestExpiryScheduler(RequestExpiryService requestExpiryService,
+                                       BloodRequestRepository bloodRequestRepository,
+                                       RedisTemplate<String, String> redisTemplate,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${request-expiry.redis.key:request-expiry:schedule}") String key,
+                                       @Value("${request-expiry.redis.poll-interval:1s}") Duration pollInterval,
+                                       @Value("${request-expiry.batch-size:100}") int batchSize) {
+        this.requestExpiryService = requestExpiryService;
+        this.bloodRequestRepository = bloodRequestRepository;
+        this.schedule = redisTemplate.opsForZSet();
+        this.key = key;
+        this.pollInterval = pollInterval;
+        this.batchSize = Math.max(1, batchSize);
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "request-expiry-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lateness = Timer.builder("request_expiry.lateness")
+                .description("Time from a request's expiry time until it was expired")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds the expiry times of all pending requests to the shared schedule and starts polling.
+     * Re-adding a member only rewrites its score, so every instance can do this on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<ScheduledExpiry> pending = bloodRequestRepository.findPendingExpiries();
+        if (!pending.isEmpty()) {
+            Set<TypedTuple<String>> members = pending.stream()
+                    .map(expiry -> TypedTuple.of(expiry.requestId().toString(), (double) expiry.dueAtMillis()))
+                    .collect(Collectors.toSet());
+            schedule.add(key, members);
+        }
+        log.info("Scheduled expiry of {} pending requests in {}", pending.size(), key);
+        poller.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        poller.shutdownNow();
+    }
+
+    @Override
+    public void schedule(UUID requestId, LocalDateTime expiryTime) {
+        schedule.add(key, requestId.toString(), new ScheduledExpiry(requestId, expiryTime).dueAtMillis());
+    }
+
+    @Override
+    public void cancel(UUID requestId) {
+        schedule.remove(key, requestId.toString());
+    }
+
+    private void poll() {
+        try {
+            Set<TypedTuple<String>> due;
+            do {
+                long now = System.currentTimeMillis();
+                due = schedule.rangeByScoreWithScores(key, 0, now, 0, batchSize);
+                if (due == null || due.isEmpty()) {
+                    return;
+                }
+                expireClaimed(claim(due, now), now);
+            } while (due.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Failed to poll the request expiry schedule", e);
+        }
+    }
+
+    // Removes due members one by one; only those this instance removed are returned
+    private List<UUID> claim(Set<TypedTuple<String>> due, long now) {
+        List<UUID> claimed = new ArrayList<>(due.size());
+        for (TypedTuple<String> member : due) {
+            Long removed = schedule.remove(key, member.getValue());
+            if (removed != null && removed > 0) {
+                claimed.add(UUID.fromString(member.getValue()));
+                lateness.record(Math.max(0, now - member.getScore().longValue()), TimeUnit.MILLISECONDS);
+            }
+        }
+        return claimed;
+    }
+
+    private void expireClaimed(List<UUID> claimed, long now) {
+        if (claimed.isEmpty()) {
+            return;
+        }
+        try {
+            requestExpiryService.expireRequests(claimed);
+        } catch (RuntimeException e) {
+            // Hand the claimed requests back so the next poll, on any instance, retries them
+            claimed.forEach(requestId -> schedule.add(key, requestId.toString(), now));
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.hemolink.matching_service.services.expiry;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Fires the expiry of each pending blood request at its expiry time.
+ * Selected through the request-expiry.scheduler property; the periodic sweep in
+ * RequestExpiryService stays as a safety net for anything a scheduler missed.
+ */
+public interface RequestExpiryScheduler {
+
+    /**
+     * Schedules or reschedules the expiry of a request
+     * @param requestId Request ID
+     * @param expiryTime New expiry time
+     */
+    void schedule(UUID requestId, LocalDateTime expiryTime);
+
+    /**
+     * Drops the scheduled expiry of a request that is no longer pending
+     * @param requestId Request ID
+     */
+    void cancel(UUID requestId);
+}
@@ -0,0 +1,20 @@
+package com.project.hemolink.matching_service.services.expiry;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * A pending request and the time it is due to expire
+ * @param requestId Request ID
+ * @param expiryTime Request expiry time
+ */
+public record ScheduledExpiry(UUID requestId, LocalDateTime expiryTime) {
+
+    /**
+     * @return Expiry as epoch milliseconds, rounded up so a firing never precedes the stored expiry time
+     */
+    public long dueAtMillis() {
+        return expiryTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + 1;
+    }
+}
@@ -0,0 +1,35 @@
+-- Schema as previously generated by hibernate ddl-auto; existing databases are baselined at this version
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+CREATE TABLE IF NOT EXISTS blood_requests (
+    request_id     uuid PRIMARY KEY,
+    hospital_id    varchar(255),
+    hospital_name  varchar(255),
+    blood_type     varchar(255),
+    units_required integer NOT NULL,
+    urgency        varchar(255),
+    location       geometry(Point, 4326),
+    created_at     timestamp(6),
+    expiry_time    timestamp(6),
+    status         varchar(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_expiry_status ON blood_requests (expiry_time, status);
+
+CREATE TABLE IF NOT EXISTS donations (
+    id                 uuid PRIMARY KEY,
+    donor_id           varchar(255),
+    request_request_id uuid REFERENCES blood_requests (request_id),
+    scheduled_at       timestamp(6),
+    completed_at       timestamp(6),
+    status             varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS match_log (
+    id          uuid PRIMARY KEY,
+    request_id  varchar(255),
+    donor_id    varchar(255),
+    matched_at  timestamp(6),
+    status      smallint,
+    volunteered boolean NOT NULL
+);
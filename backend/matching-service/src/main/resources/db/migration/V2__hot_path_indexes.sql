@@ -0,0 +1,35 @@
+-- Indexes matched to the repository queries on the request, match and donation hot paths
+
+-- Pending expiry sweep, per-request expiry and scheduler startup load (status = 'PENDING' AND expiry_time ...)
+CREATE INDEX IF NOT EXISTS idx_blood_requests_pending_expiry
+    ON blood_requests (expiry_time) INCLUDE (request_id)
+    WHERE status = 'PENDING';
+DROP INDEX IF EXISTS idx_expiry_status;
+
+-- findByHospitalId, existsByHospitalId, findByHospitalIdAndStatus
+CREATE INDEX IF NOT EXISTS idx_blood_requests_hospital_status
+    ON blood_requests (hospital_id, status);
+
+-- findByUrgency
+CREATE INDEX IF NOT EXISTS idx_blood_requests_urgency
+    ON blood_requests (urgency);
+
+-- findByRequestId, findByRequestIdAndStatus, countByRequestId, updateStatusForRequests
+CREATE INDEX IF NOT EXISTS idx_match_log_request_status
+    ON match_log (request_id, status);
+
+-- findByDonorId, findByDonorIdAndStatusNot
+CREATE INDEX IF NOT EXISTS idx_match_log_donor
+    ON match_log (donor_id);
+
+-- findByStatus; status is stored by ordinal
+CREATE INDEX IF NOT EXISTS idx_match_log_status
+    ON match_log (status, matched_at);
+
+-- countByRequestIdAndStatus, findCompletedDonationsForRequest, and the foreign key
+CREATE INDEX IF NOT EXISTS idx_donations_request_status
+    ON donations (request_request_id, status);
+
+-- findByDonorId, findByDonorIdAndStatus, existsByDonorIdAndRequestId
+CREATE INDEX IF NOT EXISTS idx_donations_donor_status
+    ON donations (donor_id, status);
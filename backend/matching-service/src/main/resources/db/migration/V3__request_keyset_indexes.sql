@@ -0,0 +1,9 @@
+-- Keyset pagination of blood requests on (created_at, request_id), newest first
+
+-- Hospital listing: hospital_id = ? ORDER BY created_at DESC, request_id DESC
+CREATE INDEX IF NOT EXISTS idx_blood_requests_hospital_created
+    ON blood_requests (hospital_id, created_at DESC, request_id DESC);
+
+-- Filtered search across hospitals, read in the same order
+CREATE INDEX IF NOT EXISTS idx_blood_requests_created
+    ON blood_requests (created_at DESC, request_id DESC);
@@ -0,0 +1,15 @@
+-- match_log.status was stored by ordinal; databases created by hibernate ddl-auto carry
+-- match_log_status_check (status between 0 and 4), which rejects EXPIRED (ordinal 5).
+-- Store the enum name instead, as every other status column does, so new constants need no migration.
+ALTER TABLE match_log DROP CONSTRAINT IF EXISTS match_log_status_check;
+
+ALTER TABLE match_log
+    ALTER COLUMN status TYPE varchar(255)
+    USING CASE status
+        WHEN 0 THEN 'PENDING'
+        WHEN 1 THEN 'SENDING'
+        WHEN 2 THEN 'FAILED'
+        WHEN 3 THEN 'SENT'
+        WHEN 4 THEN 'VOLUNTEERED'
+        WHEN 5 THEN 'EXPIRED'
+    END;
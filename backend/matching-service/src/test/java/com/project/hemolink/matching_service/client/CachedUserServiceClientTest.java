@@ -0,0 +1,169 @@
+package com.project.hemolink.matching_service.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.hemolink.matching_service.dto.DonorDto;
+import com.project.hemolink.matching_service.dto.HospitalDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CachedUserServiceClientTest {
+    private static final String CHANNEL = "user-profile-changes";
+
+    private final UserServiceClient remote = mock(UserServiceClient.class);
+    private final DonorBatchLoader donorBatchLoader = mock(DonorBatchLoader.class);
+    private final RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    // Redis stand-in
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private RedisTemplate<String, String> redisTemplate;
+    private ValueOperations<String, String> values;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        when(redisTemplate.delete(anyString())).thenAnswer(invocation -> redis.remove(invocation.<String>getArgument(0)) != null);
+    }
+
+    @Test
+    void getHospital_populatesBothLevelsOnMiss() throws Exception {
+        when(remote.getHospital("h1")).thenReturn(hospital("h1", "City Hospital"));
+        CachedUserServiceClient client = client(Duration.ofSeconds(45));
+
+        assertEquals("City Hospital", client.getHospital("h1").getHospitalName());
+        assertEquals("City Hospital", client.getHospital("h1").getHospitalName());
+
+        verify(remote, times(1)).getHospital("h1");
+        verify(values, times(1)).get("user-client:hospital:h1");
+        assertEquals("City Hospital",
+                objectMapper.readValue(redis.get("user-client:hospital:h1"), HospitalDto.class).getHospitalName());
+    }
+
+    @Test
+    void getHospital_usesSharedLevelBeforeUserService() throws Exception {
+        redis.put("user-client:hospital:h1", objectMapper.writeValueAsString(hospital("h1", "City Hospital")));
+        CachedUserServiceClient client = client(Duration.ofSeconds(45));
+
+        assertEquals("City Hospital", client.getHospital("h1").getHospitalName());
+
+        verify(remote, never()).getHospital(anyString());
+    }
+
+    @Test
+    void getDonor_loadsMissesThroughBatchLoader() {
+        when(donorBatchLoader.load("d1")).thenReturn(donor("d1", "Donor"));
+        CachedUserServiceClient client = client(Duration.ofSeconds(45));
+
+        assertEquals("Donor", client.getDonor("d1").getName());
+        assertEquals("Donor", client.getDonor("d1").getName());
+
+        verify(donorBatchLoader, times(1)).load("d1");
+        assertNotNull(redis.get("user-client:donor:d1"));
+    }
+
+    @Test
+    void profileChange_invalidatesBothLevels() {
+        when(remote.getHospital("h1")).thenReturn(hospital("h1", "Old Name"), hospital("h1", "New Name"));
+        when(donorBatchLoader.load("d1")).thenReturn(donor("d1", "Old Name"), donor("d1", "New Name"));
+        CachedUserServiceClient client = client(Duration.ofSeconds(45));
+        MessageListener listener = subscribe(client);
+        client.getHospital("h1");
+        client.getDonor("d1");
+
+        listener.onMessage(message("hospital:h1:u1"), null);
+        listener.onMessage(message("donor:d1:u2"), null);
+
+        assertFalse(redis.containsKey("user-client:hospital:h1"));
+        assertFalse(redis.containsKey("user-client:donor:d1"));
+        assertEquals("New Name", client.getHospital("h1").getHospitalName());
+        assertEquals("New Name", client.getDonor("d1").getName());
+    }
+
+    @Test
+    void profileChange_ignoresMalformedMessages() {
+        when(remote.getHospital("h1")).thenReturn(hospital("h1", "City Hospital"));
+        CachedUserServiceClient client = client(Duration.ofSeconds(45));
+        MessageListener listener = subscribe(client);
+        client.getHospital("h1");
+
+        listener.onMessage(message("hospital:h1"), null);
+        listener.onMessage(message("clinic:h1:u1"), null);
+        client.getHospital("h1");
+
+        verify(remote, times(1)).getHospital("h1");
+    }
+
+    @Test
+    void refresh_reloadsFromUserServiceNotFromSharedLevel() throws InterruptedException {
+        when(remote.getHospital("h1")).thenReturn(hospital("h1", "Old Name"), hospital("h1", "New Name"));
+        CachedUserServiceClient client = client(Duration.ofMillis(50));
+        client.getHospital("h1");
+        Thread.sleep(100);
+
+        // Redis still holds the old copy; a refresh reading it would never see the change
+        long deadline = System.currentTimeMillis() + 5000;
+        String name = client.getHospital("h1").getHospitalName();
+        while (!"New Name".equals(name) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            name = client.getHospital("h1").getHospitalName();
+        }
+
+        assertEquals("New Name", name);
+        verify(remote, times(2)).getHospital("h1");
+    }
+
+    private CachedUserServiceClient client(Duration refreshAfter) {
+        return new CachedUserServiceClient(remote, redisTemplate, objectMapper, listenerContainer, donorBatchLoader,
+                new SimpleMeterRegistry(), CHANNEL, Duration.ofMinutes(10), refreshAfter, 100, Duration.ofMinutes(5));
+    }
+
+    private MessageListener subscribe(CachedUserServiceClient client) {
+        client.subscribe();
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), eq(ChannelTopic.of(CHANNEL)));
+        return listener.getValue();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HospitalDto hospital(String id, String name) {
+        HospitalDto hospital = new HospitalDto();
+        hospital.setId(id);
+        hospital.setHospitalName(name);
+        return hospital;
+    }
+
+    private static DonorDto donor(String id, String name) {
+        DonorDto donor = new DonorDto();
+        donor.setId(id);
+        donor.setName(name);
+        return donor;
+    }
+}
@@ -0,0 +1,164 @@
+package com.project.hemolink.matching_service.client;
+
+import com.project.hemolink.matching_service.dto.DonorDto;
+import com.project.hemolink.matching_service.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DonorBatchLoaderTest {
+    private static final String FAILING_TOKEN = "token-failing";
+
+    /**
+     * One batch call as user-service saw it
+     */
+    private record Call(String token, List<String> donorIds) {
+    }
+
+    private final UserServiceClient remote = mock(UserServiceClient.class);
+    private final Collection<Call> calls = new ConcurrentLinkedQueue<>();
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private DonorBatchLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        when(remote.getDonorsByIds(anyList())).thenAnswer(invocation -> {
+            List<String> donorIds = List.copyOf(invocation.getArgument(0));
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String token = authentication == null ? null : (String) authentication.getCredentials();
+            calls.add(new Call(token, donorIds));
+            if (FAILING_TOKEN.equals(token)) {
+                throw new IllegalStateException("user-service rejected the batch");
+            }
+            return donorIds.stream()
+                    .filter(donorId -> !donorId.startsWith("unknown"))
+                    .map(DonorBatchLoaderTest::donor)
+                    .toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void load_coalescesLookupsOfOneCredentialWithinWindow() {
+        loader = loader(Duration.ofMillis(200), 100);
+
+        List<CompletableFuture<DonorDto>> results = List.of(
+                lookup("d1", "token-a"), lookup("d2", "token-a"), lookup("d1", "token-a"));
+
+        assertEquals(List.of("d1", "d2", "d1"), results.stream().map(result -> result.join().getId()).toList());
+        assertEquals(1, calls.size());
+        Call call = calls.iterator().next();
+        assertEquals("token-a", call.token());
+        assertEquals(Set.of("d1", "d2"), new HashSet<>(call.donorIds()));
+    }
+
+    @Test
+    void load_sendsBatchEarlyAtMaxSize() {
+        loader = loader(Duration.ofMillis(300), 2);
+
+        List<CompletableFuture<DonorDto>> results = List.of(
+                lookup("d1", "token-a"), lookup("d2", "token-a"), lookup("d3", "token-a"));
+        results.forEach(CompletableFuture::join);
+
+        assertEquals(List.of(1, 2), calls.stream().map(call -> call.donorIds().size()).sorted().toList());
+        Set<String> requested = new HashSet<>();
+        calls.forEach(call -> requested.addAll(call.donorIds()));
+        assertEquals(Set.of("d1", "d2", "d3"), requested);
+    }
+
+    @Test
+    void load_neverSharesBatchBetweenCredentials() {
+        loader = loader(Duration.ofMillis(200), 100);
+
+        List<CompletableFuture<DonorDto>> results = List.of(
+                lookup("d1", "token-a"), lookup("d2", "token-b"), lookup("d3", null), lookup("d4", "token-a"));
+        results.forEach(CompletableFuture::join);
+
+        assertEquals(3, calls.size());
+        for (Call call : calls) {
+            Set<String> expected = call.token() == null ? Set.of("d3")
+                    : call.token().equals("token-a") ? Set.of("d1", "d4") : Set.of("d2");
+            assertEquals(expected, new HashSet<>(call.donorIds()), "batch sent with " + call.token());
+        }
+    }
+
+    @Test
+    void load_failsOnlyCallersOfFailedBatch() {
+        loader = loader(Duration.ofMillis(200), 100);
+
+        CompletableFuture<DonorDto> healthy = lookup("d1", "token-a");
+        CompletableFuture<DonorDto> failing = lookup("d1", FAILING_TOKEN);
+        CompletableFuture<DonorDto> failingOther = lookup("d2", FAILING_TOKEN);
+
+        assertEquals("d1", healthy.join().getId());
+        for (CompletableFuture<DonorDto> result : List.of(failing, failingOther)) {
+            CompletionException e = assertThrows(CompletionException.class, result::join);
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void load_throwsNotFoundForDonorMissingFromBatch() {
+        loader = loader(Duration.ofMillis(50), 100);
+
+        CompletableFuture<DonorDto> known = lookup("d1", "token-a");
+        CompletableFuture<DonorDto> unknown = lookup("unknown-1", "token-a");
+
+        assertEquals("d1", known.join().getId());
+        CompletionException e = assertThrows(CompletionException.class, unknown::join);
+        assertInstanceOf(ResourceNotFoundException.class, e.getCause());
+    }
+
+    private DonorBatchLoader loader(Duration window, int maxBatchSize) {
+        return new DonorBatchLoader(remote, new SimpleMeterRegistry(), window, maxBatchSize);
+    }
+
+    // Looks up a donor on its own thread, as a request authenticated with the token would
+    private CompletableFuture<DonorDto> lookup(String donorId, String token) {
+        return CompletableFuture.supplyAsync(() -> {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            if (token != null) {
+                context.setAuthentication(new UsernamePasswordAuthenticationToken("user-" + token, token, List.of()));
+            }
+            SecurityContextHolder.setContext(context);
+            try {
+                return loader.load(donorId);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }, callers).orTimeout(5, TimeUnit.SECONDS);
+    }
+
+    private static DonorDto donor(String donorId) {
+        DonorDto donor = new DonorDto();
+        donor.setId(donorId);
+        return donor;
+    }
+}
@@ -0,0 +1,144 @@
+package com.project.hemolink.matching_service.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.project.hemolink.matching_service.dto.HospitalDto;
+import com.project.hemolink.matching_service.exception.UserServiceUnavailableException;
+import feign.Feign;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientUserServiceClientTest {
+    private static final String HOSPITAL_JSON = "{\"id\":\"h1\",\"hospitalName\":\"City Hospital\"}";
+    private static final String DONOR_JSON = "{\"id\":\"d1\",\"name\":\"Donor\"}";
+
+    private WireMockServer server;
+    private UserServiceClient http;
+    private ResilientUserServiceClient client;
+
+    @BeforeEach
+    void setUp() {
+        server = new WireMockServer(options().dynamicPort());
+        server.start();
+
+        ObjectFactory<HttpMessageConverters> converters =
+                () -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter(new ObjectMapper()));
+        http = Feign.builder()
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(converters))
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(converters)))
+                .target(UserServiceClient.class, server.baseUrl() + "/users");
+        client = client(4, Duration.ofMillis(50), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop();
+    }
+
+    @Test
+    void getHospital_returnsHospitalFromUserService() {
+        server.stubFor(get(urlEqualTo("/users/hospitals/h1")).willReturn(okJson(HOSPITAL_JSON)));
+
+        HospitalDto hospital = client.getHospital("h1");
+
+        assertEquals("City Hospital", hospital.getHospitalName());
+    }
+
+    @Test
+    void getHospital_timesOutSlowCalls() {
+        server.stubFor(get(urlEqualTo("/users/hospitals/h1"))
+                .willReturn(okJson(HOSPITAL_JSON).withFixedDelay(2000)));
+
+        long start = System.nanoTime();
+        assertThrows(UserServiceUnavailableException.class, () -> client.getHospital("h1"));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500,
+                "call should give up at the lookup timeout");
+    }
+
+    @Test
+    void getHospital_servesStaleHospitalWhenUserServiceFails() {
+        server.stubFor(get(urlEqualTo("/users/hospitals/h1")).willReturn(okJson(HOSPITAL_JSON)));
+        client.getHospital("h1");
+
+        server.stubFor(get(urlEqualTo("/users/hospitals/h1")).willReturn(serviceUnavailable()));
+        HospitalDto hospital = client.getHospital("h1");
+
+        assertEquals("City Hospital", hospital.getHospitalName());
+    }
+
+    @Test
+    void getDonor_opensCircuitAfterFailuresAndStopsCalling() {
+        server.stubFor(get(urlEqualTo("/users/donors/d1")).willReturn(serverError()));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(UserServiceUnavailableException.class, () -> client.getDonor("d1"));
+        }
+        UserServiceUnavailableException rejected =
+                assertThrows(UserServiceUnavailableException.class, () -> client.getDonor("d1"));
+
+        assertInstanceOf(CallNotPermittedException.class, rejected.getCause());
+        server.verify(exactly(4), getRequestedFor(urlEqualTo("/users/donors/d1")));
+    }
+
+    @Test
+    void getDonor_clientErrorsPassThroughWithoutOpeningCircuit() {
+        server.stubFor(get(urlEqualTo("/users/donors/d1")).willReturn(notFound()));
+
+        for (int i = 0; i < 6; i++) {
+            assertThrows(FeignException.NotFound.class, () -> client.getDonor("d1"));
+        }
+
+        server.verify(exactly(6), getRequestedFor(urlEqualTo("/users/donors/d1")));
+    }
+
+    @Test
+    void getDonor_bulkheadRejectsCallsOverTheLimit() throws Exception {
+        client.shutdown();
+        client = client(1, Duration.ZERO, 4);
+        server.stubFor(get(urlEqualTo("/users/donors/slow")).willReturn(okJson(DONOR_JSON).withFixedDelay(500)));
+        server.stubFor(get(urlEqualTo("/users/donors/d1")).willReturn(okJson(DONOR_JSON)));
+
+        CompletableFuture<?> inFlight = CompletableFuture.runAsync(() -> client.getDonor("slow"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (server.getAllServeEvents().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        UserServiceUnavailableException rejected =
+                assertThrows(UserServiceUnavailableException.class, () -> client.getDonor("d1"));
+
+        assertInstanceOf(BulkheadFullException.class, rejected.getCause());
+        inFlight.get(2, TimeUnit.SECONDS);
+        assertEquals("d1", client.getDonor("d1").getId());
+    }
+
+    private ResilientUserServiceClient client(int maxConcurrentCalls, Duration maxWait, int minimumCalls) {
+        return new ResilientUserServiceClient(http, new SimpleMeterRegistry(),
+                Duration.ofMillis(300), Duration.ofSeconds(1), Duration.ofSeconds(1),
+                maxConcurrentCalls, maxWait,
+                50, minimumCalls, minimumCalls, Duration.ofSeconds(30),
+                Duration.ofHours(1));
+    }
+}
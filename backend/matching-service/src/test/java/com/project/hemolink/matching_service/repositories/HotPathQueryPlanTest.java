@@ -0,0 +1,133 @@
+package com.project.hemolink.matching_service.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that the repository hot-path queries are served by the indexes the Flyway migrations create.
+ * Sequential scans are priced out, so the planner only picks one when no index can serve a query.
+ * The SQL mirrors what the repository methods issue.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class HotPathQueryPlanTest {
+    private static final String REQUEST_ID = "'4f1c2d3e-0000-4000-8000-000000000001'::uuid";
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("BloodRequestRepository.findByHospitalId",
+                        "SELECT * FROM blood_requests WHERE hospital_id = 'h1' OFFSET 0 LIMIT 20"),
+                Arguments.of("BloodRequestRepository.existsByHospitalId",
+                        "SELECT request_id FROM blood_requests WHERE hospital_id = 'h1' LIMIT 1"),
+                Arguments.of("BloodRequestRepository.findByHospitalIdAndStatus",
+                        "SELECT * FROM blood_requests WHERE hospital_id = 'h1' AND status = 'PENDING' OFFSET 0 LIMIT 20"),
+                Arguments.of("BloodRequestService.scrollRequests",
+                        "SELECT * FROM blood_requests WHERE hospital_id = 'h1' "
+                                + "AND (created_at < '2025-01-01 00:00' "
+                                + "OR (created_at = '2025-01-01 00:00' AND request_id < " + REQUEST_ID + ")) "
+                                + "ORDER BY created_at DESC, request_id DESC LIMIT 11"),
+                Arguments.of("BloodRequestService.scrollFilteredRequests",
+                        "SELECT * FROM blood_requests WHERE status = 'FULFILLED' "
+                                + "AND (created_at < '2025-01-01 00:00' "
+                                + "OR (created_at = '2025-01-01 00:00' AND request_id < " + REQUEST_ID + ")) "
+                                + "ORDER BY created_at DESC, request_id DESC LIMIT 11"),
+                Arguments.of("BloodRequestRepository.findByUrgency",
+                        "SELECT * FROM blood_requests WHERE urgency = 'HIGH'"),
+                Arguments.of("BloodRequestRepository.findPendingExpiries",
+                        "SELECT request_id, expiry_time FROM blood_requests "
+                                + "WHERE status = 'PENDING' AND expiry_time IS NOT NULL"),
+                Arguments.of("BloodRequestRepository.expirePendingRequests", """
+                        UPDATE blood_requests SET status = 'EXPIRED'
+                        WHERE request_id IN (
+                            SELECT request_id FROM blood_requests
+                            WHERE status = 'PENDING' AND expiry_time < now()
+                              AND (hashtext(request_id::text) & 2147483647) % 4 = 1
+                            ORDER BY expiry_time
+                            LIMIT 500
+                            FOR UPDATE SKIP LOCKED)
+                        RETURNING request_id
+                        """),
+                Arguments.of("BloodRequestRepository.expireDueRequests",
+                        "UPDATE blood_requests SET status = 'EXPIRED' WHERE request_id IN (" + REQUEST_ID + ") "
+                                + "AND status = 'PENDING' AND expiry_time <= now() RETURNING request_id"),
+                Arguments.of("MatchLogRepository.findByRequestIdAndStatus",
+                        "SELECT * FROM match_log WHERE request_id = 'r1' AND status = 'PENDING'"),
+                Arguments.of("MatchLogRepository.countByRequestId",
+                        "SELECT count(*) FROM match_log WHERE request_id = 'r1'"),
+                Arguments.of("MatchLogRepository.findByStatus",
+                        "SELECT * FROM match_log WHERE status = 'PENDING'"),
+                Arguments.of("MatchLogRepository.findByDonorIdAndStatusNot",
+                        "SELECT * FROM match_log WHERE donor_id = 'd1' AND status <> 'SENT'"),
+                Arguments.of("MatchLogRepository.updateStatusForRequests",
+                        "UPDATE match_log SET status = 'EXPIRED' WHERE request_id IN ('r1', 'r2') AND status = 'PENDING'"),
+                Arguments.of("DonationRepository.countByRequestIdAndStatus",
+                        "SELECT count(*) FROM donations WHERE request_request_id = " + REQUEST_ID
+                                + " AND status = 'COMPLETED'"),
+                Arguments.of("DonationRepository.findByDonorIdAndStatus",
+                        "SELECT * FROM donations WHERE donor_id = 'd1' AND status = 'SCHEDULED'"),
+                Arguments.of("DonationRepository.existsByDonorIdAndRequestId",
+                        "SELECT id FROM donations WHERE donor_id = 'd1' AND request_request_id = " + REQUEST_ID
+                                + " LIMIT 1")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQuery_usesAnIndex(String name, String sql) throws SQLException {
+        String plan = explain(sql);
+
+        assertFalse(plan.contains("Seq Scan"), name + " scans a whole table:\n" + plan);
+    }
+
+    private static String explain(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
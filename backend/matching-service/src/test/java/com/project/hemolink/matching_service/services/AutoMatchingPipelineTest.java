@@ -0,0 +1,205 @@
+package com.project.hemolink.matching_service.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.hemolink.matching_service.dto.AutoMatchStatusDto;
+import com.project.hemolink.matching_service.dto.DonorMatchDto;
+import com.project.hemolink.matching_service.entities.enums.AutoMatchState;
+import com.project.hemolink.matching_service.events.BloodRequestCreatedEvent;
+import com.project.hemolink.matching_service.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AutoMatchingPipelineTest {
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private final MatchingService matchingService = mock(MatchingService.class);
+    private final MatchLogService matchLogService = mock(MatchLogService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Redis stand-in: current value per key, plus every state written per request in order
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private final Map<String, List<AutoMatchState>> history = new ConcurrentHashMap<>();
+    private RedisTemplate<String, String> redisTemplate;
+    private AutoMatchingPipeline pipeline;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> {
+            record(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(values).set(anyString(), anyString(), any(Duration.class));
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            synchronized (redis) {
+                if (redis.containsKey(key)) {
+                    return false;
+                }
+                record(key, invocation.getArgument(1));
+                return true;
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void onRequestCreated_rejectsWhenQueueIsFull() {
+        pipeline = pipeline(1, 1);
+
+        pipeline.onRequestCreated(event("r1", hospital("h1")));
+        pipeline.onRequestCreated(event("r2", hospital("h1")));
+
+        assertEquals(AutoMatchState.QUEUED, pipeline.getStatus("r1").getState());
+        AutoMatchStatusDto rejected = pipeline.getStatus("r2");
+        assertEquals(AutoMatchState.REJECTED, rejected.getState());
+        assertEquals("Auto-matching queue is full", rejected.getError());
+        assertNotNull(rejected.getCompletedAt());
+        assertEquals(1.0, meterRegistry.get("auto_matching.rejected").counter().count());
+    }
+
+    @Test
+    void worker_storesEachTransitionInRedis() throws InterruptedException {
+        DonorMatchDto match = new DonorMatchDto();
+        match.setDonorId("d1");
+        when(matchingService.findCompatibleDonors("r1", 5)).thenReturn(List.of(match));
+        pipeline = pipeline(10, 1);
+
+        pipeline.onRequestCreated(event("r1", hospital("h1")));
+        pipeline.start();
+        AutoMatchStatusDto status = awaitFinished("r1");
+
+        assertEquals(List.of(AutoMatchState.QUEUED, AutoMatchState.RUNNING, AutoMatchState.COMPLETED),
+                history.get(key("r1")));
+        assertEquals(AutoMatchState.COMPLETED, status.getState());
+        assertEquals(1, status.getResult().getTotalMatches());
+        assertEquals("d1", status.getResult().getTopMatches().getFirst().getDonorId());
+        assertNotNull(status.getQueuedAt());
+        assertNotNull(status.getCompletedAt());
+    }
+
+    @Test
+    void worker_storesFailureOfSearchAndOfLogging() throws InterruptedException {
+        when(matchingService.findCompatibleDonors(eq("r1"), anyInt())).thenThrow(new IllegalStateException("no donors"));
+        pipeline = pipeline(10, 1);
+
+        pipeline.onRequestCreated(event("r1", hospital("h1")));
+        pipeline.start();
+
+        AutoMatchStatusDto failed = awaitFinished("r1");
+        assertEquals(AutoMatchState.FAILED, failed.getState());
+        assertEquals("no donors", failed.getError());
+
+        when(matchingService.findCompatibleDonors(eq("r2"), anyInt())).thenReturn(List.of());
+        doThrow(new IllegalStateException("write failed")).when(matchLogService).logMatches(any());
+        pipeline.onRequestCreated(event("r2", hospital("h1")));
+
+        AutoMatchStatusDto logFailed = awaitFinished("r2");
+        assertEquals(AutoMatchState.FAILED, logFailed.getState());
+        assertEquals("write failed", logFailed.getError());
+    }
+
+    @Test
+    void worker_callsUserServiceWithEachCreatorsAuthentication() throws InterruptedException {
+        Authentication first = hospital("h1");
+        Authentication second = hospital("h2");
+        Map<String, Authentication> seen = new ConcurrentHashMap<>();
+        Map<String, Thread> threads = new ConcurrentHashMap<>();
+        when(matchingService.findCompatibleDonors(anyString(), anyInt())).thenAnswer(invocation -> {
+            seen.put(invocation.getArgument(0), SecurityContextHolder.getContext().getAuthentication());
+            threads.put(invocation.getArgument(0), Thread.currentThread());
+            return List.of();
+        });
+        pipeline = pipeline(10, 1);
+
+        // Queued before the worker starts, so both land in one batch on the same thread
+        pipeline.onRequestCreated(event("r1", first));
+        pipeline.onRequestCreated(event("r2", second));
+        pipeline.start();
+        awaitFinished("r1");
+        awaitFinished("r2");
+
+        assertSame(first, seen.get("r1"));
+        assertSame(second, seen.get("r2"));
+        assertNotSame(Thread.currentThread(), threads.get("r1"));
+    }
+
+    @Test
+    void getStatus_throwsForUnknownRequest() {
+        pipeline = pipeline(10, 1);
+
+        assertThrows(ResourceNotFoundException.class, () -> pipeline.getStatus("missing"));
+    }
+
+    private AutoMatchingPipeline pipeline(int queueCapacity, int workers) {
+        return new AutoMatchingPipeline(matchingService, matchLogService, redisTemplate, objectMapper,
+                meterRegistry, queueCapacity, workers, 20, 5, Duration.ofHours(1));
+    }
+
+    private AutoMatchStatusDto awaitFinished(String requestId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (redis.containsKey(key(requestId))) {
+                AutoMatchStatusDto status = pipeline.getStatus(requestId);
+                if (status.getState() != AutoMatchState.QUEUED && status.getState() != AutoMatchState.RUNNING) {
+                    return status;
+                }
+            }
+            Thread.sleep(10);
+        }
+        return fail("auto-matching of " + requestId + " did not finish");
+    }
+
+    private void record(String key, String json) throws Exception {
+        redis.put(key, json);
+        history.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>())
+                .add(objectMapper.readValue(json, AutoMatchStatusDto.class).getState());
+    }
+
+    private static BloodRequestCreatedEvent event(String requestId, Authentication creator) {
+        return new BloodRequestCreatedEvent(requestId, creator, Instant.now());
+    }
+
+    private static Authentication hospital(String userId) {
+        return new UsernamePasswordAuthenticationToken(userId, "token-" + userId, List.of());
+    }
+
+    private static String key(String requestId) {
+        return "auto-match:status:" + requestId;
+    }
+}
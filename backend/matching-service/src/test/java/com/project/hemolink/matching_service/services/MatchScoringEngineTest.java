@@ -0,0 +1,124 @@
+package com.project.hemolink.matching_service.services;
+
+import com.project.hemolink.matching_service.dto.DonorMatchDto;
+import com.project.hemolink.matching_service.entities.enums.UrgencyLevel;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchScoringEngineTest {
+    private static final long TODAY = LocalDate.of(2025, 1, 1).toEpochDay();
+
+    private final MatchScoringEngine engine = new MatchScoringEngine(0.6, 0.3, 0.6, 0.9);
+
+    @Test
+    void topK_matchesFullSort() {
+        Random random = new Random(42);
+        int n = 1_000;
+        double[] distances = new double[n];
+        long[] lastDonations = new long[n];
+        for (int i = 0; i < n; i++) {
+            // Coarse values so plenty of candidates tie
+            distances[i] = random.nextInt(120);
+            lastDonations[i] = random.nextInt(10) == 0 ? MatchScoringEngine.NEVER_DONATED : TODAY - random.nextInt(200);
+        }
+
+        for (UrgencyLevel urgency : UrgencyLevel.values()) {
+            for (int k : new int[]{1, 5, 50, n}) {
+                double[] scores = new double[n];
+                int[] top = engine.topK(distances, lastDonations, TODAY, urgency, k, scores);
+
+                int[] expected = IntStream.range(0, n).boxed()
+                        .sorted(Comparator.<Integer>comparingDouble(i -> scores[i]).reversed()
+                                .thenComparingInt(i -> i))
+                        .limit(k)
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                assertArrayEquals(expected, top, urgency + " k=" + k);
+            }
+        }
+    }
+
+    @Test
+    void topK_keepsInputOrderOnTies() {
+        double[] distances = {10, 5, 10, 5, 10};
+        long[] lastDonations = new long[5];
+        Arrays.fill(lastDonations, TODAY - 30);
+
+        int[] top = engine.topK(distances, lastDonations, TODAY, UrgencyLevel.MEDIUM, 4, new double[5]);
+
+        assertArrayEquals(new int[]{1, 3, 0, 2}, top);
+    }
+
+    @Test
+    void topK_returnsEveryCandidateWhenKExceedsCount() {
+        double[] distances = {30, 10, 20};
+        long[] lastDonations = {TODAY, TODAY, TODAY};
+
+        int[] top = engine.topK(distances, lastDonations, TODAY, UrgencyLevel.LOW, 10, new double[3]);
+
+        assertArrayEquals(new int[]{1, 2, 0}, top);
+    }
+
+    @Test
+    void topK_returnsNothingForNonPositiveK() {
+        double[] distances = {30, 10};
+        long[] lastDonations = {TODAY, TODAY};
+
+        assertEquals(0, engine.topK(distances, lastDonations, TODAY, UrgencyLevel.HIGH, 0, new double[2]).length);
+        assertEquals(0, engine.topK(distances, lastDonations, TODAY, UrgencyLevel.HIGH, -1, new double[2]).length);
+        assertEquals(0, engine.topK(new double[0], new long[0], TODAY, UrgencyLevel.HIGH, 3, new double[0]).length);
+    }
+
+    @Test
+    void topK_scoresNeverDonatedAsZeroRecency() {
+        double[] distances = {0, 0};
+        long[] lastDonations = {MatchScoringEngine.NEVER_DONATED, TODAY};
+        double[] scores = new double[2];
+
+        int[] top = engine.topK(distances, lastDonations, TODAY, UrgencyLevel.MEDIUM, 2, scores);
+
+        assertEquals(0.6, scores[0], 1e-9);
+        assertEquals(1.0, scores[1], 1e-9);
+        assertArrayEquals(new int[]{1, 0}, top);
+    }
+
+    @Test
+    void topK_weighsDistanceByUrgency() {
+        // Near donor who donated long ago vs. farther donor who donated recently
+        double[] distances = {5, 60};
+        long[] lastDonations = {TODAY - 170, TODAY - 5};
+
+        assertArrayEquals(new int[]{0, 1},
+                engine.topK(distances, lastDonations, TODAY, UrgencyLevel.HIGH, 2, new double[2]));
+        assertArrayEquals(new int[]{1, 0},
+                engine.topK(distances, lastDonations, TODAY, UrgencyLevel.LOW, 2, new double[2]));
+    }
+
+    @Test
+    void rankTop_setsScoresAndHandlesMissingLastDonation() {
+        DonorMatchDto far = donor("far", 80, LocalDate.now());
+        DonorMatchDto near = donor("near", 1, null);
+        DonorMatchDto middle = donor("middle", 40, LocalDate.now().minusDays(10));
+
+        List<DonorMatchDto> ranked = engine.rankTop(List.of(far, near, middle), UrgencyLevel.MEDIUM, 2);
+
+        assertEquals(List.of("middle", "near"), ranked.stream().map(DonorMatchDto::getDonorId).toList());
+        assertEquals(0.6 * 0.99, near.getScore(), 1e-9);
+    }
+
+    private static DonorMatchDto donor(String id, double distanceKm, LocalDate lastDonation) {
+        DonorMatchDto donor = new DonorMatchDto();
+        donor.setDonorId(id);
+        donor.setDistanceKm(distanceKm);
+        donor.setLastDonationDate(lastDonation);
+        return donor;
+    }
+}
@@ -0,0 +1,161 @@
+package com.project.hemolink.matching_service.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.hemolink.matching_service.entities.enums.RequestStatus;
+import com.project.hemolink.matching_service.entities.enums.RequestUpdateType;
+import com.project.hemolink.matching_service.events.RequestUpdateEvent;
+import com.project.hemolink.matching_service.events.RequestsExpiredEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedConstruction;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RequestUpdateBroadcasterTest {
+    private static final String CHANNEL = "request-updates";
+    private static final long TIMEOUT_MILLIS = 2000;
+
+    private final RedisTemplate<String, String> redisTemplate = mockRedisTemplate();
+    private final RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+    private final RequestHospitalLookup requestHospitalLookup = mock(RequestHospitalLookup.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Emitters whose client has gone away
+    private final Set<SseEmitter> dead = ConcurrentHashMap.newKeySet();
+
+    private MockedConstruction<SseEmitter> emitters;
+    private RequestUpdateBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        emitters = mockConstruction(SseEmitter.class, (emitter, context) ->
+                doAnswer(invocation -> {
+                    if (dead.contains(emitter)) {
+                        throw new IOException("Broken pipe");
+                    }
+                    return null;
+                }).when(emitter).send(any(SseEmitter.SseEventBuilder.class)));
+
+        broadcaster = new RequestUpdateBroadcaster(redisTemplate, listenerContainer, objectMapper,
+                requestHospitalLookup, meterRegistry, CHANNEL, Duration.ofMinutes(30), Duration.ofHours(1), 100);
+        broadcaster.start();
+
+        // Redis echoes every relayed update back to this instance's listener
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), eq(ChannelTopic.of(CHANNEL)));
+        when(redisTemplate.convertAndSend(eq(CHANNEL), anyString())).thenAnswer(invocation -> {
+            listener.getValue().onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                    invocation.<String>getArgument(1).getBytes(StandardCharsets.UTF_8)), null);
+            return 1L;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.stop();
+        emitters.close();
+    }
+
+    @Test
+    void onRequestUpdate_reachesOnlyOwningHospitalsStreams() throws IOException {
+        SseEmitter first = broadcaster.subscribe("h1");
+        SseEmitter second = broadcaster.subscribe("h1");
+        SseEmitter other = broadcaster.subscribe("h2");
+
+        broadcaster.onRequestUpdate(update("r1", "h1"));
+
+        verify(first, timeout(TIMEOUT_MILLIS)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(second, timeout(TIMEOUT_MILLIS)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(other, never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void onRequestUpdate_resolvesHospitalOfEventsWithoutOne() throws IOException {
+        when(requestHospitalLookup.hospitalIdOf("r1")).thenReturn("h1");
+        SseEmitter owner = broadcaster.subscribe("h1");
+
+        broadcaster.onRequestUpdate(RequestUpdateEvent.matchLogged("r1", "d1"));
+
+        verify(owner, timeout(TIMEOUT_MILLIS)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void onRequestsExpired_sendsUpdateToEachOwningHospital() throws IOException {
+        when(requestHospitalLookup.hospitalIdsOf(List.of("r1", "r2", "gone"))).thenReturn(Map.of("r1", "h1", "r2", "h2"));
+        SseEmitter first = broadcaster.subscribe("h1");
+        SseEmitter second = broadcaster.subscribe("h2");
+
+        broadcaster.onRequestsExpired(new RequestsExpiredEvent(List.of("r1", "r2", "gone"), Instant.now()));
+
+        verify(first, timeout(TIMEOUT_MILLIS)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(second, timeout(TIMEOUT_MILLIS)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void deliver_dropsStreamsWhoseClientWentAway() throws IOException, InterruptedException {
+        SseEmitter gone = broadcaster.subscribe("h1");
+        SseEmitter live = broadcaster.subscribe("h1");
+        dead.add(gone);
+        assertEquals(2.0, subscriberGauge());
+
+        broadcaster.onRequestUpdate(update("r1", "h1"));
+        verify(gone, timeout(TIMEOUT_MILLIS)).completeWithError(any(IOException.class));
+        verify(live, timeout(TIMEOUT_MILLIS)).send(any(SseEmitter.SseEventBuilder.class));
+        assertEquals(1.0, subscriberGauge());
+
+        broadcaster.onRequestUpdate(update("r2", "h1"));
+        verify(live, timeout(TIMEOUT_MILLIS).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(gone, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void onRequestUpdate_deliversLocallyWhenRedisIsDown() throws IOException {
+        doThrow(new RedisConnectionFailureException("Redis is down"))
+                .when(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+        SseEmitter owner = broadcaster.subscribe("h1");
+        SseEmitter other = broadcaster.subscribe("h2");
+
+        broadcaster.onRequestUpdate(update("r1", "h1"));
+
+        verify(owner, timeout(TIMEOUT_MILLIS)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(other, never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    private double subscriberGauge() {
+        return meterRegistry.get("request_updates.subscribers").gauge().value();
+    }
+
+    private static RequestUpdateEvent update(String requestId, String hospitalId) {
+        return new RequestUpdateEvent(requestId, hospitalId, RequestUpdateType.STATUS_CHANGED,
+                RequestStatus.FULFILLED, null, null, Instant.now());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisTemplate<String, String> mockRedisTemplate() {
+        return mock(RedisTemplate.class);
+    }
+}
@@ -0,0 +1,130 @@
+package com.project.hemolink.matching_service.services.expiry;
+
+import com.project.hemolink.matching_service.repositories.BloodRequestRepository;
+import com.project.hemolink.matching_service.services.RequestExpiryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalRequestExpirySchedulerTest {
+    private final RequestExpiryService requestExpiryService = mock(RequestExpiryService.class);
+    private final BloodRequestRepository bloodRequestRepository = mock(BloodRequestRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Request IDs passed to each expireRequests call, in call order
+    private final BlockingQueue<List<UUID>> fired = new LinkedBlockingQueue<>();
+    private LocalRequestExpiryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Collection<UUID> requestIds = invocation.getArgument(0);
+            fired.add(List.copyOf(requestIds));
+            return requestIds.size();
+        }).when(requestExpiryService).expireRequests(anyCollection());
+        when(bloodRequestRepository.findPendingExpiries()).thenReturn(List.of());
+        scheduler = new LocalRequestExpiryScheduler(requestExpiryService, bloodRequestRepository, meterRegistry, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void schedule_firesInExpiryOrder() throws InterruptedException {
+        UUID last = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        scheduler.schedule(last, inMillis(300));
+        scheduler.schedule(first, inMillis(100));
+        scheduler.schedule(second, inMillis(200));
+        scheduler.start();
+
+        assertEquals(List.of(first), next());
+        assertEquals(List.of(second), next());
+        assertEquals(List.of(last), next());
+        assertEquals(0.0, scheduledGauge());
+    }
+
+    @Test
+    void schedule_neverFiresBeforeExpiryTime() throws InterruptedException {
+        UUID requestId = UUID.randomUUID();
+        LocalDateTime expiryTime = inMillis(150);
+        scheduler.start();
+        scheduler.schedule(requestId, expiryTime);
+
+        assertEquals(List.of(requestId), next());
+        assertFalse(LocalDateTime.now().isBefore(expiryTime));
+    }
+
+    @Test
+    void schedule_replacesEarlierExpiryOfSameRequest() throws InterruptedException {
+        UUID rescheduled = UUID.randomUUID();
+        UUID marker = UUID.randomUUID();
+        scheduler.schedule(rescheduled, inMillis(50));
+        scheduler.schedule(rescheduled, LocalDateTime.now().plusHours(1));
+        scheduler.schedule(marker, inMillis(150));
+        scheduler.start();
+
+        // The replaced entry was due before the marker, so it would have fired first
+        assertEquals(List.of(marker), next());
+        assertNull(fired.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(1.0, scheduledGauge());
+    }
+
+    @Test
+    void cancel_dropsScheduledExpiry() throws InterruptedException {
+        UUID cancelled = UUID.randomUUID();
+        UUID marker = UUID.randomUUID();
+        scheduler.schedule(cancelled, inMillis(50));
+        scheduler.schedule(marker, inMillis(150));
+        scheduler.cancel(cancelled);
+        scheduler.cancel(UUID.randomUUID());
+        scheduler.start();
+
+        assertEquals(List.of(marker), next());
+        assertNull(fired.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void start_schedulesPendingRequestsIncludingOverdueOnes() throws InterruptedException {
+        UUID overdue = UUID.randomUUID();
+        UUID upcoming = UUID.randomUUID();
+        when(bloodRequestRepository.findPendingExpiries()).thenReturn(List.of(
+                new ScheduledExpiry(upcoming, inMillis(100)),
+                new ScheduledExpiry(overdue, LocalDateTime.now().minusMinutes(5))));
+        scheduler.start();
+
+        assertEquals(List.of(overdue), next());
+        assertEquals(List.of(upcoming), next());
+    }
+
+    private List<UUID> next() throws InterruptedException {
+        List<UUID> requestIds = fired.poll(5, TimeUnit.SECONDS);
+        assertNotNull(requestIds, "expected an expiry to fire");
+        return requestIds;
+    }
+
+    private double scheduledGauge() {
+        return meterRegistry.get("request_expiry.scheduled").gauge().value();
+    }
+
+    private static LocalDateTime inMillis(long millis) {
+        return LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.hemolink.notification_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+
+@Configuration
+public class KafkaConfig {
+
+    /**
+     * Retries a failed batch until it is written. Undecodable events are skipped by the listener,
+     * so a failure here means the database is unavailable and dropping the batch would lose notifications.
+     */
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler(@Value("${notification-events.retry.initial-interval:500ms}") Duration initialInterval,
+                                                @Value("${notification-events.retry.max-interval:30s}") Duration maxInterval) {
+        ExponentialBackOff backOff = new ExponentialBackOff(initialInterval.toMillis(), 2.0);
+        backOff.setMaxInterval(maxInterval.toMillis());
+        return new DefaultErrorHandler(backOff);
+    }
+}
@@ -0,0 +1,19 @@
+package com.project.hemolink.notification_service.dto;
+
+import com.project.hemolink.notification_service.entity.enums.NotificationEventType;
+
+import java.time.Instant;
+
+/**
+ * Event published by matching-service
+ * @param eventKey Idempotency key of the event
+ * @param type Kind of event
+ * @param requestId Request ID
+ * @param hospitalId Owning hospital ID
+ * @param donorId Donor involved, for match and confirmation events
+ * @param donationId Donation involved, for confirmation events
+ * @param occurredAt Time of the change
+ */
+public record NotificationEventDto(String eventKey, NotificationEventType type, String requestId, String hospitalId,
+                                   String donorId, String donationId, Instant occurredAt) {
+}
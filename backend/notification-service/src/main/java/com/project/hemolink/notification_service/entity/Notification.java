@@ -2,6 +2,7 @@ package com.project.hemolink.notification_service.entity;
 
 
 import com.project.hemolink.notification_service.entity.enums.NotificationType;
+import com.project.hemolink.notification_service.entity.enums.RecipientType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -23,6 +24,7 @@ public class Notification {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private UUID userId;
+    @Column(length = 1000)
     private String message;
     private boolean read;
 
@@ -31,4 +33,13 @@ public class Notification {
 
     @CreationTimestamp
     private LocalDateTime createdAt;
+
+    /** Idempotency key of the event this notification was created from */
+    @Column(unique = true)
+    private String eventKey;
+
+    @Enumerated(EnumType.STRING)
+    private RecipientType recipientType;
+    private String recipientId;
+    private String requestId;
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.project.hemolink.notification_service.entity.enums;
+
+public enum RecipientType {
+    DONOR, HOSPITAL
+}
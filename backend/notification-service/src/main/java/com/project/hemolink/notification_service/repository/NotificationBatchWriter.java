@@ -0,0 +1,41 @@
+package com.project.hemolink.notification_service.repository;
+
+import com.project.hemolink.notification_service.entity.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Writes notifications with JDBC batch inserts, bypassing the persistence context
+ * and the per-row identity round trips a JPA save would take.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchWriter {
+    private static final String INSERT_SQL = """
+            INSERT INTO notification (event_key, recipient_type, recipient_id, request_id, message, type, read, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, false, now())
+            ON CONFLICT (event_key) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts notifications in a single transaction, skipping any whose event key is already stored
+     * @param notifications Notifications to insert, each with a unique event key
+     */
+    @Transactional
+    public void insertAll(List<Notification> notifications) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, notifications, notifications.size(), (ps, notification) -> {
+            ps.setString(1, notification.getEventKey());
+            ps.setString(2, notification.getRecipientType().name());
+            ps.setString(3, notification.getRecipientId());
+            ps.setString(4, notification.getRequestId());
+            ps.setString(5, notification.getMessage());
+            ps.setString(6, notification.getType().name());
+        });
+    }
+}
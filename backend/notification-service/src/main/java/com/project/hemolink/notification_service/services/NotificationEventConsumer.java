@@ -0,0 +1,113 @@
+package com.project.hemolink.notification_service.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.hemolink.notification_service.dto.NotificationEventDto;
+import com.project.hemolink.notification_service.entity.Notification;
+import com.project.hemolink.notification_service.entity.enums.NotificationType;
+import com.project.hemolink.notification_service.entity.enums.RecipientType;
+import com.project.hemolink.notification_service.repository.NotificationBatchWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consumes matching-service events in batches and stores a notification for each.
+ * A batch is written in one JDBC batch and its offsets committed only after the write,
+ * so a crash redelivers the batch; event keys make the redelivered inserts no-ops.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationEventConsumer {
+    private final NotificationBatchWriter notificationBatchWriter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stores notifications for a batch of events, then commits the batch's offsets
+     * @param records Event records, keyed by request ID
+     * @param acknowledgment Commits the batch's offsets
+     */
+    @KafkaListener(topics = "${notification-events.topic:notification-events}", batch = "true")
+    public void onEvents(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        // Duplicates within a batch are dropped here; across batches the unique event key skips them
+        Map<String, Notification> notifications = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            NotificationEventDto event = parse(record);
+            if (event == null) {
+                continue;
+            }
+            Notification notification = toNotification(event);
+            if (notification != null) {
+                notifications.putIfAbsent(event.eventKey(), notification);
+            }
+        }
+
+        if (!notifications.isEmpty()) {
+            notificationBatchWriter.insertAll(new ArrayList<>(notifications.values()));
+        }
+        acknowledgment.acknowledge();
+        log.debug("Stored {} notifications from {} events", notifications.size(), records.size());
+    }
+
+    private NotificationEventDto parse(ConsumerRecord<String, String> record) {
+        try {
+            NotificationEventDto event = objectMapper.readValue(record.value(), NotificationEventDto.class);
+            if (event.eventKey() == null || event.type() == null) {
+                log.warn("Skipping event without key or type at {}-{}@{}", record.topic(), record.partition(), record.offset());
+                return null;
+            }
+            return event;
+        } catch (JsonProcessingException e) {
+            // Retrying cannot fix a malformed event, so skip it rather than block the partition
+            log.warn("Skipping malformed event at {}-{}@{}", record.topic(), record.partition(), record.offset());
+            return null;
+        }
+    }
+
+    /**
+     * Builds the notification an event should produce
+     * @param event Notification event
+     * @return Notification, or null if the event has no recipient
+     */
+    private Notification toNotification(NotificationEventDto event) {
+        Notification notification = new Notification();
+        notification.setEventKey(event.eventKey());
+        notification.setRequestId(event.requestId());
+        notification.setType(NotificationType.IN_APP);
+
+        switch (event.type()) {
+            case DONOR_MATCHED -> {
+                notification.setRecipientType(RecipientType.DONOR);
+                notification.setRecipientId(event.donorId());
+                notification.setMessage("You have been matched to blood request " + event.requestId()
+                        + ". Please respond if you are able to donate.");
+            }
+            case DONATION_CONFIRMED -> {
+                notification.setRecipientType(RecipientType.HOSPITAL);
+                notification.setRecipientId(event.hospitalId());
+                notification.setMessage("Donor " + event.donorId() + " confirmed a donation for blood request "
+                        + event.requestId() + ".");
+            }
+            case REQUEST_EXPIRED -> {
+                notification.setRecipientType(RecipientType.HOSPITAL);
+                notification.setRecipientId(event.hospitalId());
+                notification.setMessage("Blood request " + event.requestId() + " expired before it was fulfilled.");
+            }
+        }
+
+        if (notification.getRecipientId() == null) {
+            log.warn("Skipping event {} without a recipient", event.eventKey());
+            return null;
+        }
+        return notification;
+    }
+}
@@ -0,0 +1,9 @@
+-- Schema as previously generated by hibernate ddl-auto; existing databases are baselined at this version
+CREATE TABLE IF NOT EXISTS notification (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    uuid,
+    message    varchar(255),
+    read       boolean NOT NULL,
+    type       varchar(255),
+    created_at timestamp(6)
+);
@@ -0,0 +1,9 @@
+-- Notifications created from matching-service events; event_key makes redelivered events no-ops
+ALTER TABLE notification ADD COLUMN event_key varchar(255);
+ALTER TABLE notification ADD COLUMN recipient_type varchar(255);
+ALTER TABLE notification ADD COLUMN recipient_id varchar(255);
+ALTER TABLE notification ADD COLUMN request_id varchar(255);
+ALTER TABLE notification ALTER COLUMN message TYPE varchar(1000);
+
+CREATE UNIQUE INDEX idx_notification_event_key ON notification (event_key);
+CREATE INDEX idx_notification_recipient ON notification (recipient_type, recipient_id, created_at DESC);
@@ -0,0 +1,150 @@
+package com.project.hemolink.notification_service.services;
+
+import com.project.hemolink.notification_service.config.KafkaConfig;
+import com.project.hemolink.notification_service.entity.Notification;
+import com.project.hemolink.notification_service.entity.enums.RecipientType;
+import com.project.hemolink.notification_service.repository.NotificationBatchWriter;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the batch listener against an embedded broker with the writer mocked out,
+ * checking deduplication and that offsets are only committed after a successful write.
+ */
+@SpringBootTest(classes = {NotificationEventConsumer.class, KafkaConfig.class}, properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.listener.concurrency=1",
+        "notification-events.retry.initial-interval=50ms",
+        "notification-events.retry.max-interval=100ms"
+})
+@ImportAutoConfiguration({KafkaAutoConfiguration.class, JacksonAutoConfiguration.class})
+@EmbeddedKafka(partitions = 1, topics = NotificationEventConsumerTest.TOPIC)
+class NotificationEventConsumerTest {
+    static final String TOPIC = "notification-events";
+    private static final String GROUP = "notification-service";
+    private static final Duration WAIT = Duration.ofSeconds(20);
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @MockitoBean
+    private NotificationBatchWriter notificationBatchWriter;
+
+    @Test
+    void onEvents_storesEachEventOnceAndCommitsAfterWrite() throws Exception {
+        long before = committedOffset();
+
+        send(event("donor-matched:r1:d1", "DONOR_MATCHED", "r1", "h1", "d1"),
+                event("donor-matched:r1:d1", "DONOR_MATCHED", "r1", "h1", "d1"),
+                event("request-expired:r2", "REQUEST_EXPIRED", "r2", "h2", null));
+        awaitCommittedOffset(before + 3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> written = ArgumentCaptor.forClass(List.class);
+        verify(notificationBatchWriter, atLeastOnce()).insertAll(written.capture());
+        List<Notification> notifications = written.getAllValues().stream().flatMap(List::stream).toList();
+
+        // The duplicate may land in a later batch, where the unique event key skips it
+        assertEquals(List.of("donor-matched:r1:d1", "request-expired:r2"),
+                notifications.stream().map(Notification::getEventKey).distinct().toList());
+        Notification matched = notifications.getFirst();
+        assertEquals(RecipientType.DONOR, matched.getRecipientType());
+        assertEquals("d1", matched.getRecipientId());
+        Notification expired = notifications.getLast();
+        assertEquals(RecipientType.HOSPITAL, expired.getRecipientType());
+        assertEquals("h2", expired.getRecipientId());
+    }
+
+    @Test
+    void onEvents_withholdsCommitUntilWriteSucceeds() throws Exception {
+        long before = committedOffset();
+        AtomicLong offsetDuringRetry = new AtomicLong(-1);
+        doAnswer(invocation -> {
+            throw new DataAccessResourceFailureException("database unavailable");
+        }).doAnswer(invocation -> {
+            offsetDuringRetry.set(committedOffset());
+            throw new DataAccessResourceFailureException("database unavailable");
+        }).doNothing().when(notificationBatchWriter).insertAll(anyList());
+
+        send(event("donation-confirmed:x1", "DONATION_CONFIRMED", "r3", "h3", "d3"));
+
+        verify(notificationBatchWriter, timeout(WAIT.toMillis()).times(3)).insertAll(anyList());
+        assertEquals(before, offsetDuringRetry.get());
+        awaitCommittedOffset(before + 1);
+    }
+
+    @Test
+    void onEvents_skipsMalformedEvents() throws Exception {
+        long before = committedOffset();
+        doNothing().when(notificationBatchWriter).insertAll(anyList());
+
+        send("not json", event("request-expired:r4", "REQUEST_EXPIRED", "r4", "h4", null));
+        awaitCommittedOffset(before + 2);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> written = ArgumentCaptor.forClass(List.class);
+        verify(notificationBatchWriter, atLeastOnce()).insertAll(written.capture());
+        assertEquals(List.of("request-expired:r4"), written.getAllValues().stream()
+                .flatMap(List::stream).map(Notification::getEventKey).toList());
+    }
+
+    private static String event(String eventKey, String type, String requestId, String hospitalId, String donorId) {
+        return """
+                {"eventKey":"%s","type":"%s","requestId":"%s","hospitalId":"%s",%s"occurredAt":"%s"}"""
+                .formatted(eventKey, type, requestId, hospitalId,
+                        donorId == null ? "" : "\"donorId\":\"" + donorId + "\",", Instant.now());
+    }
+
+    private void send(String... payloads) {
+        try (Producer<String, String> producer = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(), new StringSerializer()).createProducer()) {
+            for (String payload : payloads) {
+                producer.send(new ProducerRecord<>(TOPIC, "request", payload));
+            }
+            producer.flush();
+        }
+    }
+
+    private long committedOffset() throws Exception {
+        OffsetAndMetadata offset = KafkaTestUtils.getCurrentOffset(broker.getBrokersAsString(), GROUP, TOPIC, 0);
+        return offset == null ? 0 : offset.offset();
+    }
+
+    private void awaitCommittedOffset(long expected) throws Exception {
+        long deadline = System.nanoTime() + WAIT.toNanos();
+        long committed;
+        while ((committed = committedOffset()) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(expected, committed);
+    }
+}
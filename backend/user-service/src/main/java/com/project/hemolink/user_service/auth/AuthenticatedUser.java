@@ -0,0 +1,33 @@
+package com.project.hemolink.user_service.auth;
+
+import com.project.hemolink.user_service.entities.enums.UserRole;
+import com.project.hemolink.user_service.services.UserNearCache;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal of an authenticated request, built from the access token claims
+ * so no database lookup is needed to authenticate a request
+ * @param id User's unique ID
+ * @param email User's email
+ * @param role User's role
+ */
+public record AuthenticatedUser(UUID id, String email, UserRole role) {
+
+    /**
+     * Builds the principal from a loaded user
+     * @param user Cached user
+     * @return Principal for the user
+     */
+    public static AuthenticatedUser of(UserNearCache.CachedUser user) {
+        return new AuthenticatedUser(user.id(), user.email(), user.role());
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
@@ -1,9 +1,5 @@
 package com.project.hemolink.user_service.config;
 
-import com.project.hemolink.user_service.dto.PointDTO;
-import com.project.hemolink.user_service.utils.GeometryUtil;
-import org.locationtech.jts.geom.Point;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -11,24 +7,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class AppConfig {
-    @Bean
-    public ModelMapper modelMapper(){
-        ModelMapper mapper =  new ModelMapper();
-
-        mapper.typeMap(PointDTO.class, Point.class).setConverter(context -> {
-            PointDTO pointDTO = context.getSource();
-            return GeometryUtil.createPoint(pointDTO);
-        });
-        mapper.typeMap(Point.class, PointDTO.class).setConverter(context ->{
-            Point point = context.getSource();
-            double[] coordinates = {
-                    point.getX(),
-                    point.getY()
-            };
-            return new PointDTO(coordinates);
-        });
-        return mapper;
-    }
 
     @Bean
     PasswordEncoder passwordEncoder(){
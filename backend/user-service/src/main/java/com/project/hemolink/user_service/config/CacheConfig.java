@@ -3,6 +3,9 @@ package com.project.hemolink.user_service.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.hemolink.user_service.dto.DonorDto;
+import com.project.hemolink.user_service.dto.HospitalDto;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -11,14 +14,30 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
+    /** HospitalDto by hospital ID */
+    public static final String HOSPITALS = "hospitals";
+    /** HospitalDto by the hospital's user ID */
+    public static final String HOSPITALS_BY_USER = "hospitalsByUser";
+    /** DonorDto by donor ID */
+    public static final String DONORS = "donors";
+    /** DonorDto by the donor's user ID */
+    public static final String DONORS_BY_USER = "donorsByUser";
+
+    @Value("${cache.ttl.hospitals:30m}")
+    private Duration hospitalTtl;
+
+    @Value("${cache.ttl.donors:5m}")
+    private Duration donorTtl;
 
     @Bean
     public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
@@ -34,8 +53,27 @@ public class CacheConfig {
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
 
+        // Read model caches store one known type, so values are written without class metadata
+        RedisCacheConfiguration hospitalCache = typedCache(redisCacheConfiguration, objectMapper, HospitalDto.class, hospitalTtl);
+        RedisCacheConfiguration donorCache = typedCache(redisCacheConfiguration, objectMapper, DonorDto.class, donorTtl);
+
         return RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(redisCacheConfiguration)
+                .withInitialCacheConfigurations(Map.of(
+                        HOSPITALS, hospitalCache,
+                        HOSPITALS_BY_USER, hospitalCache,
+                        DONORS, donorCache,
+                        DONORS_BY_USER, donorCache))
+                .enableStatistics()
+                .transactionAware()
                 .build();
     }
+
+    private static <T> RedisCacheConfiguration typedCache(RedisCacheConfiguration defaults, ObjectMapper objectMapper,
+                                                          Class<T> type, Duration ttl) {
+        return defaults
+                .entryTtl(ttl)
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new Jackson2JsonRedisSerializer<>(objectMapper, type)));
+    }
 }
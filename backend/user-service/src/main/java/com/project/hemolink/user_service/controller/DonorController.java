@@ -4,6 +4,7 @@ import com.project.hemolink.user_service.dto.*;
 import com.project.hemolink.user_service.entities.Donor;
 import com.project.hemolink.user_service.entities.enums.BloodType;
 import com.project.hemolink.user_service.exception.BadRequestException;
+import com.project.hemolink.user_service.mappers.GeometryMapper;
 import com.project.hemolink.user_service.services.DonorService;
 import lombok.RequiredArgsConstructor;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -11,7 +12,6 @@ import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.PrecisionModel;
 import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKTReader;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,7 +26,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DonorController {
     private final DonorService donorService;
-    private final ModelMapper modelMapper;
+    private final GeometryMapper geometryMapper;
 
 
     @PostMapping("/completeProfile")
@@ -49,6 +49,11 @@ public class DonorController {
         return donorService.findDonorById(donorId);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<DonorDto>> getDonorsByIds(@RequestBody List<String> donorIds){
+        return ResponseEntity.ok(donorService.findDonorsByIds(donorIds));
+    }
+
     @GetMapping("/by-user/{userId}")
     public ResponseEntity<DonorDto> getDonorByUserId(@PathVariable String userId){
         return ResponseEntity.ok(donorService.getDonorByUserId(userId));
@@ -66,7 +71,7 @@ public class DonorController {
         double lat = Double.parseDouble(coords[1]);
 
         PointDTO pointDTO = new PointDTO(new double[]{lon, lat});
-        Point point = modelMapper.map(pointDTO, Point.class);
+        Point point = geometryMapper.toPoint(pointDTO);
 
         return ResponseEntity.ok(
                 donorService.findNearByEligibleDonors(point, bloodType, radiusKm, limit)
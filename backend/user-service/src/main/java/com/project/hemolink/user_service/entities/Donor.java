@@ -33,8 +33,18 @@ public class Donor{
     @Enumerated(EnumType.STRING)
     private BloodType bloodType;
 
+    // Single-bit mask of bloodType, kept in sync on write so queries can filter with one AND
+    @Column(columnDefinition = "smallint")
+    private Short bloodTypeMask;
+
     @Column(columnDefinition = "Geometry(Point, 4326)")
     private Point location;
     private LocalDate lastDonation;
     private Boolean isAvailable;
+
+    @PrePersist
+    @PreUpdate
+    void syncBloodTypeMask() {
+        bloodTypeMask = bloodType == null ? null : (short) bloodType.mask();
+    }
 }
@@ -1,5 +1,12 @@
 package com.project.hemolink.user_service.entities.enums;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Blood types. Each constant owns bit {@code ordinal()} of a compatibility mask,
+ * which is persisted, so new constants must only be appended.
+ */
 public enum BloodType {
     A_POSITIVE,
     A_NEGATIVE,
@@ -10,4 +17,26 @@ public enum BloodType {
     O_POSITIVE,
     O_NEGATIVE;
 
+    private static final BloodType[] VALUES = values();
+
+    /**
+     * @return Single-bit mask identifying this blood type
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @param mask Compatibility mask
+     * @return Blood types whose bit is set in the mask, in declaration order
+     */
+    public static List<BloodType> fromMask(int mask) {
+        List<BloodType> types = new ArrayList<>(Integer.bitCount(mask));
+        for (BloodType type : VALUES) {
+            if ((mask & type.mask()) != 0) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
 }
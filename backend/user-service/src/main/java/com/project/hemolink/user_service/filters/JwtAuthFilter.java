@@ -1,8 +1,9 @@
 package com.project.hemolink.user_service.filters;
 
-import com.project.hemolink.user_service.entities.User;
-import com.project.hemolink.user_service.services.AuthService;
+import com.project.hemolink.user_service.auth.AuthenticatedUser;
+import com.project.hemolink.user_service.entities.enums.UserRole;
 import com.project.hemolink.user_service.services.JwtService;
+import com.project.hemolink.user_service.services.ParsedToken;
 import com.project.hemolink.user_service.services.TokenBlacklistService;
 import com.project.hemolink.user_service.services.UserService;
 import jakarta.servlet.FilterChain;
@@ -14,7 +15,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -22,7 +22,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
-import java.util.Collection;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -54,15 +54,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 response.sendError(HttpStatus.UNAUTHORIZED.value(), "Token revoked");
                 return;
             }
-            String userId = jwtService.getUserIdFromToken(token);
+            ParsedToken parsedToken = jwtService.parse(token);
+            String userId = parsedToken.subject();
 
             if(userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                User user = userService.getUserById(userId);
-
-                Collection<? extends GrantedAuthority> authorities = user.getAuthorities();
+                AuthenticatedUser user = toPrincipal(parsedToken);
 
                 UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(user, null, authorities);
+                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
                 authenticationToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
@@ -73,4 +72,18 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             handlerExceptionResolver.resolveException(request,response,null,e);
         }
     }
+
+    /**
+     * Builds the principal from the token claims, loading the user only for
+     * tokens issued without email and role claims
+     * @param parsedToken Verified token
+     * @return Request principal
+     */
+    private AuthenticatedUser toPrincipal(ParsedToken parsedToken) {
+        if (parsedToken.email() == null || parsedToken.role() == null) {
+            return AuthenticatedUser.of(userService.getUserById(parsedToken.subject()));
+        }
+        return new AuthenticatedUser(UUID.fromString(parsedToken.subject()), parsedToken.email(),
+                UserRole.valueOf(parsedToken.role()));
+    }
 }
@@ -0,0 +1,35 @@
+package com.project.hemolink.user_service.mappers;
+
+import com.project.hemolink.user_service.dto.CompleteDonorProfileDto;
+import com.project.hemolink.user_service.dto.DonorDto;
+import com.project.hemolink.user_service.dto.DonorMatchDto;
+import com.project.hemolink.user_service.entities.Donor;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Mapper(componentModel = "spring", uses = {GeometryMapper.class, UserMapper.class}, injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface DonorMapper {
+
+    @Mapping(target = "available", source = "isAvailable")
+    DonorDto toDto(Donor donor);
+
+    @Mapping(target = "lastDonationDate", source = "lastDonation")
+    @Mapping(target = "available", source = "isAvailable")
+    @Mapping(target = "score", ignore = true)
+    @Mapping(target = "distanceKm", ignore = true)
+    DonorMatchDto toMatchDto(Donor donor);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "lastDonation", ignore = true)
+    @Mapping(target = "bloodTypeMask", ignore = true)
+    Donor toEntity(CompleteDonorProfileDto completeDonorProfileDto);
+
+    default LocalDateTime toDateTime(LocalDate date) {
+        return date == null ? null : date.atStartOfDay();
+    }
+}
@@ -0,0 +1,20 @@
+package com.project.hemolink.user_service.mappers;
+
+import com.project.hemolink.user_service.dto.CompleteHospitalProfileDto;
+import com.project.hemolink.user_service.dto.HospitalDto;
+import com.project.hemolink.user_service.entities.Hospital;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring", uses = {GeometryMapper.class, UserMapper.class}, injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface HospitalMapper {
+
+    HospitalDto toDto(Hospital hospital);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "mainPhoneNo", ignore = true)
+    @Mapping(target = "verificationStatus", ignore = true)
+    Hospital toEntity(CompleteHospitalProfileDto completeHospitalProfileDto);
+}
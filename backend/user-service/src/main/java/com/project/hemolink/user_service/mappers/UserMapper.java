@@ -0,0 +1,24 @@
+package com.project.hemolink.user_service.mappers;
+
+import com.project.hemolink.user_service.dto.SignupRequestDto;
+import com.project.hemolink.user_service.dto.UserDto;
+import com.project.hemolink.user_service.entities.User;
+import com.project.hemolink.user_service.services.UserNearCache;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
+public interface UserMapper {
+
+    UserDto toDto(User user);
+
+    UserDto toDto(UserNearCache.CachedUser user);
+
+    // Password is encoded by the caller
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "profileComplete", ignore = true)
+    User toEntity(SignupRequestDto signupRequestDto);
+}
@@ -5,13 +5,17 @@ import com.project.hemolink.user_service.entities.User;
 import com.project.hemolink.user_service.entities.enums.BloodType;
 import org.locationtech.jts.geom.Point;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,20 +24,55 @@ public interface DonorRepository extends JpaRepository<Donor, UUID> {
 
     @Query(value = """
     SELECT d FROM Donor d 
-    WHERE d.bloodType IN :compatibleTypes 
+    WHERE bitand(d.bloodTypeMask, :donorMask) <> 0
     AND d.isAvailable = true
     AND (d.lastDonation IS NULL OR d.lastDonation <= :minDate)
+    AND FUNCTION('ST_DWithin', d.location, :point, :radiusDegrees) = true
     AND FUNCTION('ST_DistanceSphere', d.location, :point) <= :radius
     ORDER BY FUNCTION('ST_DistanceSphere', d.location, :point)
     """)
     List<Donor> findNearbyEligibleDonors(
             @Param("point") Point point,
-            @Param("compatibleTypes") List<BloodType> compatibleTypes,
+            @Param("donorMask") short donorMask,
             @Param("radius") double radius,
+            @Param("radiusDegrees") double radiusDegrees,
             @Param("minDate") LocalDate minDate,
             Pageable pageable);
 
 
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE Donor d SET d.bloodTypeMask = :mask
+        WHERE d.bloodType = :bloodType
+        AND (d.bloodTypeMask IS NULL OR d.bloodTypeMask <> :mask)
+        """)
+    int backfillBloodTypeMask(@Param("bloodType") BloodType bloodType, @Param("mask") short mask);
+
+    @Query(value = """
+        SELECT d FROM Donor d
+        JOIN FETCH d.user
+        WHERE d.id IN :ids
+        """)
+    List<Donor> findAllWithUserByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query(value = """
+        SELECT d.id AS id, d.bloodType AS bloodType, d.location AS location, d.lastDonation AS lastDonation
+        FROM Donor d
+        WHERE d.isAvailable = true
+        AND d.location IS NOT NULL
+        """)
+    Slice<DonorLocationView> findAvailableDonorLocations(Pageable pageable);
+
+    @Query(value = """
+        SELECT d.id AS id, d.bloodType AS bloodType, d.location AS location, d.lastDonation AS lastDonation
+        FROM Donor d
+        WHERE d.id = :id
+        AND d.isAvailable = true
+        AND d.location IS NOT NULL
+        """)
+    Optional<DonorLocationView> findAvailableDonorLocation(@Param("id") UUID id);
+
     @Query(value = """
         SELECT d FROM Donor d 
         WHERE d.user.id = :userId
@@ -43,4 +82,14 @@ public interface DonorRepository extends JpaRepository<Donor, UUID> {
     Optional<Donor> findByUser(User user);
 
     void deleteByUser(User user);
+
+    /**
+     * Projection used to load the in-memory donor index
+     */
+    interface DonorLocationView {
+        UUID getId();
+        BloodType getBloodType();
+        Point getLocation();
+        LocalDate getLastDonation();
+    }
 }
@@ -12,5 +12,7 @@ import java.util.UUID;
 public interface HospitalRepository extends JpaRepository<Hospital, UUID> {
     Optional<Hospital> findByUser(User user);
 
+    Optional<Hospital> findByUserId(UUID userId);
+
     void deleteByUser(User user);
 }
@@ -1,62 +1,60 @@
 package com.project.hemolink.user_service.services;
 
-import lombok.Data;
+import com.project.hemolink.user_service.services.distance.DistanceCache;
+import com.project.hemolink.user_service.services.distance.DistanceProvider;
+import lombok.extern.slf4j.Slf4j;
 import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
 
 import java.util.List;
 
 /**
- * Service for calculating distances using OSRM routing engine
+ * Service for calculating distances through the configured distance provider:
+ * great-circle (default), road or hybrid
  */
+@Slf4j
 @Service
 public class DistanceService {
-    private static final String OSRM_API_BASE_URL = "http://router.project-osrm.org/route/v1/driving/";
+    private final DistanceProvider provider;
+    private final DistanceCache distanceCache;
+
+    public DistanceService(List<DistanceProvider> providers,
+                           DistanceCache distanceCache,
+                           @Value("${distance.provider:great-circle}") String providerName) {
+        this.distanceCache = distanceCache;
+        this.provider = providers.stream()
+                .filter(candidate -> candidate.name().equals(providerName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown distance provider: " + providerName));
+        log.info("Using {} distance provider", provider.name());
+    }
 
     /**
-     * Calculates road distance between two geographic points
+     * Calculates distance between two geographic points
      * @param src Source location
      * @param dest Destination location
      * @return Distance in kilometers
-     * @throws RuntimeException if OSRM request fails
      */
     public double calculateDistance(Point src, Point dest) {
-        try {
-            String coordinates = src.getX()+","+src.getY()+";"+dest.getX()+","+dest.getY();
-
-            OsrmResponseDTO response = RestClient.builder()
-                    .baseUrl(OSRM_API_BASE_URL)
-                    .build()
-                    .get()
-                    .uri(coordinates)
-                    .retrieve()
-                    .body(OsrmResponseDTO.class);
+        return provider.distanceKm(src, dest);
+    }
 
-            double calculatedDistance = response.getRoutes().get(0).getDistance();
-            if (calculatedDistance == 0) {
-                return 0.0;
-            }
-            return calculatedDistance / 1000.0; // Convert meters to km
-        } catch (Exception e) {
-            throw new RuntimeException("OSRM request failed: " + e.getMessage());
-        }
+    /**
+     * Calculates distances from one source to many destinations
+     * @param src Source location
+     * @param destinations Destination locations
+     * @return Distances in kilometers, in the same order as the destinations
+     */
+    public double[] calculateDistances(Point src, List<Point> destinations) {
+        return provider.distancesKm(src, destinations);
     }
-}
 
-/**
- * DTO for OSRM route response
- */
-@Data
-class OsrmResponseDTO {
-    private List<OsrmRoute> routes;
+    /**
+     * Drops cached distances ending at a location that is no longer current
+     * @param location Previous or updated destination location
+     */
+    public void invalidateDestination(Point location) {
+        distanceCache.invalidateDestination(location);
+    }
 }
-
-/**
- * DTO for OSRM route details
- */
-@Data
-class OsrmRoute {
-    private double distance; // Distance in meters
-    private double duration; // Duration in seconds
-}
\ No newline at end of file
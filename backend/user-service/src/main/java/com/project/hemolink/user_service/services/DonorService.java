@@ -1,27 +1,37 @@
 package com.project.hemolink.user_service.services;
 
 import com.project.hemolink.user_service.auth.UserContextHolder;
+import com.project.hemolink.user_service.config.CacheConfig;
 import com.project.hemolink.user_service.dto.*;
 import com.project.hemolink.user_service.entities.Donor;
 import com.project.hemolink.user_service.entities.User;
 import com.project.hemolink.user_service.entities.enums.BloodType;
 import com.project.hemolink.user_service.exception.*;
+import com.project.hemolink.user_service.mappers.DonorMapper;
+import com.project.hemolink.user_service.mappers.GeometryMapper;
 import com.project.hemolink.user_service.repositories.DonorRepository;
 import com.project.hemolink.user_service.repositories.UserRepository;
+import com.project.hemolink.user_service.utils.GeometryUtil;
 import com.project.hemolink.user_service.utils.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.locationtech.jts.geom.Point;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service handling donor-related operations including:
@@ -36,10 +46,17 @@ import java.util.UUID;
 public class DonorService {
     private final DonorRepository donorRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final DonorMapper donorMapper;
+    private final GeometryMapper geometryMapper;
     private final SecurityUtil securityUtil;
     private final BloodTypeCompatibilityService compatibilityService;
     private final DistanceService distanceService;
+    private final DonorSpatialIndex donorSpatialIndex;
+    private final UserNearCache userNearCache;
+    private final ProfileChangePublisher profileChangePublisher;
+
+    @Value("${donor.batch.max-size:500}")
+    private int maxBatchSize;
 
     /**
      * Completes donor profile setup
@@ -48,6 +65,10 @@ public class DonorService {
      * @throws ProfileCompletionException If profile already completed
      */
     @Transactional
+    @Caching(put = {
+            @CachePut(cacheNames = CacheConfig.DONORS, key = "#result.id"),
+            @CachePut(cacheNames = CacheConfig.DONORS_BY_USER, key = "#result.user.id")
+    })
     public DonorDto completeProfile(CompleteDonorProfileDto completeDonorProfileDto) {
         try {
             UUID userId = securityUtil.getCurrentUserId();
@@ -60,12 +81,15 @@ public class DonorService {
 
             log.info("Completing donor profile for user: {}", user.getEmail());
             user.setProfileComplete(true);
-            Donor donor = modelMapper.map(completeDonorProfileDto, Donor.class);
+            Donor donor = donorMapper.toEntity(completeDonorProfileDto);
             donor.setUser(userRepository.save(user));
+            userNearCache.evict(userId);
 
             Donor savedDonor = donorRepository.save(donor);
+            donorSpatialIndex.index(savedDonor);
+            profileChangePublisher.donorChanged(savedDonor.getId(), savedDonor.getUser().getId());
             log.info("Donor profile completed successfully");
-            return modelMapper.map(savedDonor, DonorDto.class);
+            return donorMapper.toDto(savedDonor);
 
         } catch (ProfileCompletionException e) {
             log.error("Profile completion error: {}", e.getMessage());
@@ -79,6 +103,10 @@ public class DonorService {
      * @return Updated donor DTO
      */
     @Transactional
+    @Caching(put = {
+            @CachePut(cacheNames = CacheConfig.DONORS, key = "#result.id"),
+            @CachePut(cacheNames = CacheConfig.DONORS_BY_USER, key = "#result.user.id")
+    })
     public DonorDto updateAvailability(AvailabilityDto availabilityDto) {
         try {
             UUID userId = securityUtil.getCurrentUserId();
@@ -87,7 +115,10 @@ public class DonorService {
 
             log.info("Updating availability for donor: {}", donor.getUser().getEmail());
             donor.setIsAvailable(availabilityDto.isAvailable());
-            return modelMapper.map(donorRepository.save(donor), DonorDto.class);
+            Donor savedDonor = donorRepository.save(donor);
+            donorSpatialIndex.index(savedDonor);
+            profileChangePublisher.donorChanged(savedDonor.getId(), savedDonor.getUser().getId());
+            return donorMapper.toDto(savedDonor);
 
         } catch (ResourceNotFoundException e) {
             log.error("Resource not found: {}", e.getMessage());
@@ -104,16 +135,27 @@ public class DonorService {
      * @return Updated donor DTO
      */
     @Transactional
+    @Caching(put = {
+            @CachePut(cacheNames = CacheConfig.DONORS, key = "#result.id"),
+            @CachePut(cacheNames = CacheConfig.DONORS_BY_USER, key = "#result.user.id")
+    })
     public DonorDto updateLocation(PointDTO updatedLocation) {
         UUID userId = securityUtil.getCurrentUserId();
         Donor donor = donorRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Donor not found with userId: "+userId));
 
         log.info("Updating location for donor: {}", donor.getUser().getEmail());
-        donor.setLocation(modelMapper.map(updatedLocation, Point.class));
+        Point previousLocation = donor.getLocation();
+        donor.setLocation(geometryMapper.toPoint(updatedLocation));
         Donor savedDonor = donorRepository.save(donor);
+        donorSpatialIndex.index(savedDonor);
+        profileChangePublisher.donorChanged(savedDonor.getId(), savedDonor.getUser().getId());
+        if (previousLocation != null) {
+            distanceService.invalidateDestination(previousLocation);
+        }
+        distanceService.invalidateDestination(savedDonor.getLocation());
         log.info("Location updated");
-        return modelMapper.map(savedDonor, DonorDto.class);
+        return donorMapper.toDto(savedDonor);
     }
 
     /**
@@ -121,11 +163,35 @@ public class DonorService {
      * @param donorId Donor's unique ID
      * @return Donor DTO
      */
+    @Cacheable(cacheNames = CacheConfig.DONORS, key = "#donorId")
     public DonorDto findDonorById(String donorId) {
         log.info("Fetching Donor by donorId: {}", donorId);
         Donor donor = donorRepository.findById(UUID.fromString(donorId))
                 .orElseThrow(() -> new ResourceNotFoundException("Donor not found with id: "+donorId));
-        return modelMapper.map(donor, DonorDto.class);
+        return donorMapper.toDto(donor);
+    }
+
+    /**
+     * Finds many donors with a single query
+     * @param donorIds Donors' unique IDs
+     * @return Donor DTOs for the IDs that exist, in no particular order
+     * @throws BadRequestException If more IDs are requested than allowed in one batch
+     */
+    @Transactional(readOnly = true)
+    public List<DonorDto> findDonorsByIds(List<String> donorIds) {
+        if (donorIds.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " donors can be fetched at once");
+        }
+        log.info("Fetching {} donors by id", donorIds.size());
+        Set<UUID> ids = donorIds.stream()
+                .map(UUID::fromString)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return donorRepository.findAllWithUserByIdIn(ids).stream()
+                .map(donorMapper::toDto)
+                .toList();
     }
 
     /**
@@ -133,11 +199,12 @@ public class DonorService {
      * @param userId User's unique ID
      * @return Donor DTO
      */
+    @Cacheable(cacheNames = CacheConfig.DONORS_BY_USER, key = "#userId")
     public DonorDto getDonorByUserId(String userId) {
         log.info("Fetching Donor by userId: {}", userId);
         Donor donor = donorRepository.findByUserId(UUID.fromString(userId))
                 .orElseThrow(() -> new ResourceNotFoundException("Donor not found with userId: "+userId));
-        return modelMapper.map(donor, DonorDto.class);
+        return donorMapper.toDto(donor);
     }
 
     /**
@@ -149,29 +216,67 @@ public class DonorService {
      * @return List of matching donors with distance information
      */
     public List<DonorMatchDto> findNearByEligibleDonors(Point location, BloodType bloodType, int radiusKm, int limit) {
-        List<BloodType> compatibleTypes = compatibilityService.getCompatibleBloodTypes(bloodType);
+        int donorMask = compatibilityService.getCompatibleDonorMask(bloodType);
         LocalDate minDate = LocalDate.now().minusDays(90);
+
+        if (!donorSpatialIndex.isReady()) {
+            return findNearByEligibleDonorsFromDatabase(location, donorMask, radiusKm, minDate, limit);
+        }
+
+        List<DonorSpatialIndex.NearbyDonor> nearbyDonors =
+                donorSpatialIndex.findNearby(location, donorMask, radiusKm, minDate, limit);
+        if (nearbyDonors.isEmpty()) {
+            return List.of();
+        }
+
+        // Hydrate only the matched rows, then restore the index ordering
+        Map<UUID, Donor> donorsById = donorRepository.findAllWithUserByIdIn(
+                        nearbyDonors.stream().map(DonorSpatialIndex.NearbyDonor::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Donor::getId, Function.identity()));
+
+        List<Donor> donors = nearbyDonors.stream()
+                .map(nearbyDonor -> donorsById.get(nearbyDonor.id()))
+                .filter(donor -> donor != null && Boolean.TRUE.equals(donor.getIsAvailable()))
+                .toList();
+        return toDonorMatches(location, donors);
+    }
+
+    /**
+     * Spatial query against the donors table, used until the in-memory index is loaded
+     */
+    private List<DonorMatchDto> findNearByEligibleDonorsFromDatabase(Point location, int donorMask,
+                                                                     int radiusKm, LocalDate minDate, int limit) {
         double radiusMeters = radiusKm * 1000;
         PageRequest pageRequest = PageRequest.of(0, limit);
 
         List<Donor> donors = donorRepository.findNearbyEligibleDonors(
                 location,
-                compatibleTypes,
+                (short) donorMask,
                 radiusMeters,
+                GeometryUtil.boundingRadiusDegrees(location.getY(), radiusKm),
                 minDate,
                 pageRequest
         );
 
-        return donors.stream()
-                .map(donor -> {
-                    DonorMatchDto dto = modelMapper.map(donor, DonorMatchDto.class);
-                    dto.setDistanceKm(calculateDistance(location, donor.getLocation()));
-                    return dto;
-                })
-                .toList();
+        return toDonorMatches(location, donors);
     }
 
-    private double calculateDistance(Point p1, Point p2) {
-        return distanceService.calculateDistance(p1, p2);
+    /**
+     * Maps donors to match DTOs, computing all distances in one batch
+     */
+    private List<DonorMatchDto> toDonorMatches(Point location, List<Donor> donors) {
+        double[] distances = distanceService.calculateDistances(
+                location,
+                donors.stream().map(Donor::getLocation).toList()
+        );
+
+        List<DonorMatchDto> matches = new ArrayList<>(donors.size());
+        for (int i = 0; i < donors.size(); i++) {
+            DonorMatchDto dto = donorMapper.toMatchDto(donors.get(i));
+            dto.setDistanceKm(distances[i]);
+            matches.add(dto);
+        }
+        return matches;
     }
 }
\ No newline at end of file
@@ -0,0 +1,345 @@
+package com.project.hemolink.user_service.services;
+
+import com.project.hemolink.user_service.entities.Donor;
+import com.project.hemolink.user_service.entities.enums.BloodType;
+import com.project.hemolink.user_service.repositories.DonorRepository;
+import com.project.hemolink.user_service.repositories.DonorRepository.DonorLocationView;
+import com.project.hemolink.user_service.utils.GeometryUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid index of available donors, bucketed by blood type.
+ * Answers radius + compatibility + last-donation queries without scanning
+ * the donors table; the database is only used to hydrate the matched rows.
+ * Every instance holds its own index: changes made here are applied after commit,
+ * and changes made on other instances are picked up from the profile change channel
+ * by reloading the donor.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DonorSpatialIndex {
+    private static final double KM_PER_DEGREE = Math.PI * GeometryUtil.EARTH_RADIUS_KM / 180.0;
+    private static final long NEVER_DONATED = Long.MIN_VALUE;
+    private static final BloodType[] BLOOD_TYPES = BloodType.values();
+
+    private final DonorRepository donorRepository;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${donor-index.cell-size-degrees:0.1}")
+    private double cellSizeDegrees;
+
+    @Value("${donor-index.load-page-size:1000}")
+    private int loadPageSize;
+
+    // blood type -> grid cell -> donors in that cell
+    private final Map<BloodType, Map<Long, Set<IndexedDonor>>> cellsByType = createBuckets();
+    private final Map<UUID, IndexedDonor> donorsById = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile boolean ready = false;
+    // Donors removed while a rebuild is paging, so a page read before the removal cannot re-add them;
+    // null when no rebuild is running. Guarded by writeLock.
+    private Set<UUID> removedDuringRebuild;
+
+    /**
+     * Donor entry held in the grid
+     */
+    record IndexedDonor(UUID id, BloodType bloodType, double lat, double lon, long lastDonationEpochDay, long cell) {
+    }
+
+    /**
+     * Result of an index lookup, ordered by great-circle distance
+     */
+    public record NearbyDonor(UUID id, double distanceKm) {
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onProfileChange(new String(message.getBody(), StandardCharsets.UTF_8)),
+                ChannelTopic.of(ProfileChangePublisher.CHANNEL));
+    }
+
+    /**
+     * Loads all available donors into the index once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        backfillBloodTypeMasks();
+        synchronized (writeLock) {
+            removedDuringRebuild = new HashSet<>();
+        }
+        try {
+            PageRequest pageRequest = PageRequest.of(0, loadPageSize, Sort.by("id"));
+            Slice<DonorLocationView> slice;
+            do {
+                slice = donorRepository.findAvailableDonorLocations(pageRequest);
+                synchronized (writeLock) {
+                    // Donors already indexed were changed after the page was read and are newer
+                    slice.forEach(view -> {
+                        if (!donorsById.containsKey(view.getId()) && !removedDuringRebuild.contains(view.getId())) {
+                            add(toEntry(view));
+                        }
+                    });
+                }
+                pageRequest = pageRequest.next();
+            } while (slice.hasNext());
+        } finally {
+            synchronized (writeLock) {
+                removedDuringRebuild = null;
+            }
+        }
+
+        ready = true;
+        log.info("Donor index loaded with {} donors in {} ms", donorsById.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @return True once the initial load has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds, moves or removes a donor depending on its availability and location.
+     * When called inside a transaction the change is applied after commit.
+     * @param donor Saved donor entity
+     */
+    public void index(Donor donor) {
+        UUID donorId = donor.getId();
+        if (!Boolean.TRUE.equals(donor.getIsAvailable()) || donor.getLocation() == null || donor.getBloodType() == null) {
+            // Not remove(): a synchronization registered from inside afterCommit never runs
+            afterCommit(() -> {
+                synchronized (writeLock) {
+                    removeNow(donorId);
+                }
+            });
+            return;
+        }
+        IndexedDonor entry = toEntry(donorId, donor.getBloodType(), donor.getLocation(), donor.getLastDonation());
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                replace(entry);
+            }
+        });
+    }
+
+    /**
+     * Removes a donor from the index.
+     * When called inside a transaction the removal is applied after commit.
+     * @param donorId Donor's unique ID
+     */
+    public void remove(UUID donorId) {
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                removeNow(donorId);
+            }
+        });
+    }
+
+    /**
+     * Reloads a donor from the database, picking up a change made on another instance.
+     * The read happens under the write lock so that concurrent reloads apply in read order.
+     * @param donorId Donor's unique ID
+     */
+    public void refresh(UUID donorId) {
+        synchronized (writeLock) {
+            donorRepository.findAvailableDonorLocation(donorId)
+                    .ifPresentOrElse(view -> replace(toEntry(view)), () -> removeNow(donorId));
+        }
+    }
+
+    /**
+     * Finds the closest eligible donors within a radius
+     * @param location Request location
+     * @param donorMask Mask of donor blood types accepted by the recipient
+     * @param radiusKm Search radius in kilometers
+     * @param minDate Latest last-donation date still eligible
+     * @param limit Maximum results to return
+     * @return Donor ids ordered by distance, closest first
+     */
+    public List<NearbyDonor> findNearby(Point location, int donorMask,
+                                        double radiusKm, LocalDate minDate, int limit) {
+        if (limit <= 0 || donorMask == 0) {
+            return List.of();
+        }
+        double lat = location.getY();
+        double lon = location.getX();
+        long minEpochDay = minDate.toEpochDay();
+
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double lonDelta = radiusKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 1e-6));
+
+        int minRow = row(Math.max(-90.0, lat - latDelta));
+        int maxRow = row(Math.min(90.0, lat + latDelta));
+        int columns = (int) Math.ceil(360.0 / cellSizeDegrees);
+        int minCol;
+        int maxCol;
+        if (lonDelta >= 180.0) {
+            minCol = 0;
+            maxCol = columns - 1;
+        } else {
+            minCol = (int) Math.floor((lon - lonDelta + 180.0) / cellSizeDegrees);
+            maxCol = (int) Math.floor((lon + lonDelta + 180.0) / cellSizeDegrees);
+        }
+
+        // Max-heap on distance keeps the closest `limit` donors
+        PriorityQueue<NearbyDonor> closest = new PriorityQueue<>(limit,
+                Comparator.comparingDouble(NearbyDonor::distanceKm).reversed());
+
+        for (BloodType type : BLOOD_TYPES) {
+            if ((donorMask & type.mask()) == 0) {
+                continue;
+            }
+            Map<Long, Set<IndexedDonor>> cells = cellsByType.get(type);
+            for (int r = minRow; r <= maxRow; r++) {
+                for (int c = minCol; c <= maxCol; c++) {
+                    Set<IndexedDonor> cell = cells.get(cellKey(r, Math.floorMod(c, columns)));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (IndexedDonor donor : cell) {
+                        if (donor.lastDonationEpochDay() > minEpochDay) {
+                            continue;
+                        }
+                        double distance = GeometryUtil.haversineKm(lat, lon, donor.lat(), donor.lon());
+                        if (distance > radiusKm) {
+                            continue;
+                        }
+                        if (closest.size() < limit) {
+                            closest.add(new NearbyDonor(donor.id(), distance));
+                        } else if (distance < closest.peek().distanceKm()) {
+                            closest.poll();
+                            closest.add(new NearbyDonor(donor.id(), distance));
+                        }
+                    }
+                }
+            }
+        }
+
+        List<NearbyDonor> result = new ArrayList<>(closest);
+        result.sort(Comparator.comparingDouble(NearbyDonor::distanceKm));
+        return result;
+    }
+
+    /**
+     * Handles a {@code <donor|hospital>:<profileId>:<userId>} message from the profile change channel
+     */
+    private void onProfileChange(String message) {
+        String[] parts = message.split(":");
+        if (parts.length != 3 || !"donor".equals(parts[0])) {
+            return;
+        }
+        try {
+            refresh(UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh donor index entry for {}: {}", parts[1], e.getMessage());
+        }
+    }
+
+    /**
+     * Fills the blood type mask column for rows written before it existed
+     */
+    private void backfillBloodTypeMasks() {
+        int updated = 0;
+        for (BloodType type : BLOOD_TYPES) {
+            updated += donorRepository.backfillBloodTypeMask(type, (short) type.mask());
+        }
+        if (updated > 0) {
+            log.info("Backfilled blood type mask for {} donors", updated);
+        }
+    }
+
+    private void add(IndexedDonor entry) {
+        donorsById.put(entry.id(), entry);
+        cellsByType.get(entry.bloodType())
+                .computeIfAbsent(entry.cell(), key -> ConcurrentHashMap.newKeySet())
+                .add(entry);
+    }
+
+    private void replace(IndexedDonor entry) {
+        removeEntry(donorsById.get(entry.id()));
+        add(entry);
+    }
+
+    private void removeNow(UUID donorId) {
+        removeEntry(donorsById.get(donorId));
+        if (removedDuringRebuild != null) {
+            removedDuringRebuild.add(donorId);
+        }
+    }
+
+    private void removeEntry(IndexedDonor entry) {
+        if (entry == null) {
+            return;
+        }
+        donorsById.remove(entry.id());
+        Set<IndexedDonor> cell = cellsByType.get(entry.bloodType()).get(entry.cell());
+        if (cell != null) {
+            cell.remove(entry);
+        }
+    }
+
+    private IndexedDonor toEntry(DonorLocationView view) {
+        return toEntry(view.getId(), view.getBloodType(), view.getLocation(), view.getLastDonation());
+    }
+
+    private IndexedDonor toEntry(UUID id, BloodType bloodType, Point location, LocalDate lastDonation) {
+        double lat = location.getY();
+        double lon = location.getX();
+        long lastDonationEpochDay = lastDonation == null ? NEVER_DONATED : lastDonation.toEpochDay();
+        int columns = (int) Math.ceil(360.0 / cellSizeDegrees);
+        int col = Math.floorMod((int) Math.floor((lon + 180.0) / cellSizeDegrees), columns);
+        return new IndexedDonor(id, bloodType, lat, lon, lastDonationEpochDay, cellKey(row(lat), col));
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat + 90.0) / cellSizeDegrees);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Map<BloodType, Map<Long, Set<IndexedDonor>>> createBuckets() {
+        Map<BloodType, Map<Long, Set<IndexedDonor>>> buckets = new EnumMap<>(BloodType.class);
+        for (BloodType type : BloodType.values()) {
+            buckets.put(type, new ConcurrentHashMap<>());
+        }
+        return buckets;
+    }
+}
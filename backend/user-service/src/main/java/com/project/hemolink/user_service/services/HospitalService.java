@@ -1,17 +1,21 @@
 package com.project.hemolink.user_service.services;
 
+import com.project.hemolink.user_service.config.CacheConfig;
 import com.project.hemolink.user_service.dto.CompleteHospitalProfileDto;
 import com.project.hemolink.user_service.dto.HospitalDto;
 import com.project.hemolink.user_service.entities.Hospital;
 import com.project.hemolink.user_service.entities.User;
 import com.project.hemolink.user_service.entities.enums.VerificationStatus;
 import com.project.hemolink.user_service.exception.*;
+import com.project.hemolink.user_service.mappers.HospitalMapper;
 import com.project.hemolink.user_service.repositories.HospitalRepository;
 import com.project.hemolink.user_service.repositories.UserRepository;
 import com.project.hemolink.user_service.utils.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,8 +33,10 @@ import java.util.UUID;
 public class HospitalService {
     private final UserRepository userRepository;
     private final HospitalRepository hospitalRepository;
-    private final ModelMapper modelMapper;
+    private final HospitalMapper hospitalMapper;
     private final SecurityUtil securityUtil;
+    private final UserNearCache userNearCache;
+    private final ProfileChangePublisher profileChangePublisher;
 
     /**
      * Completes hospital profile setup
@@ -39,6 +45,10 @@ public class HospitalService {
      * @throws ProfileCompletionException If profile already completed
      */
     @Transactional
+    @Caching(put = {
+            @CachePut(cacheNames = CacheConfig.HOSPITALS, key = "#result.id"),
+            @CachePut(cacheNames = CacheConfig.HOSPITALS_BY_USER, key = "#result.user.id")
+    })
     public HospitalDto completeProfile(CompleteHospitalProfileDto completeHospitalProfileDto) {
         try {
             UUID userId = securityUtil.getCurrentUserId();
@@ -51,14 +61,16 @@ public class HospitalService {
 
             log.info("Completing profile for hospital with email: {}", user.getEmail());
             user.setProfileComplete(true);
-            Hospital hospital = modelMapper.map(completeHospitalProfileDto, Hospital.class);
+            Hospital hospital = hospitalMapper.toEntity(completeHospitalProfileDto);
             hospital.setUser(userRepository.save(user));
+            userNearCache.evict(userId);
             hospital.setVerificationStatus(VerificationStatus.PENDING);
             hospital.setMainPhoneNo(user.getPhone());
 
             Hospital savedHospital = hospitalRepository.save(hospital);
+            profileChangePublisher.hospitalChanged(savedHospital.getId(), userId);
             log.info("Hospital profile completed successfully");
-            return modelMapper.map(savedHospital, HospitalDto.class);
+            return hospitalMapper.toDto(savedHospital);
 
         } catch (ProfileCompletionException e) {
             log.error("Profile completion error: {}", e.getMessage());
@@ -72,12 +84,13 @@ public class HospitalService {
      * @return Hospital DTO
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.HOSPITALS, key = "#hospitalId")
     public HospitalDto findHospitalById(String hospitalId) {
         try {
             log.info("Fetching hospital with ID: {}", hospitalId);
             Hospital hospital = hospitalRepository.findById(UUID.fromString(hospitalId))
                     .orElseThrow(() -> new ResourceNotFoundException("Hospital not found with ID: " + hospitalId));
-            return modelMapper.map(hospital, HospitalDto.class);
+            return hospitalMapper.toDto(hospital);
         } catch (ResourceNotFoundException e) {
             log.error("Hospital not found: {}", e.getMessage());
             throw e;
@@ -92,14 +105,13 @@ public class HospitalService {
      * @param userId User's unique ID
      * @return Hospital DTO
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.HOSPITALS_BY_USER, key = "#userId")
     public HospitalDto getHospitalByUserId(String userId) {
         log.info("Fetching the Hospital with userId: {}", userId);
-        User user = userRepository.findById(UUID.fromString(userId))
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: "+userId));
-
-        Hospital hospital = hospitalRepository.findByUser(user)
+        Hospital hospital = hospitalRepository.findByUserId(UUID.fromString(userId))
                 .orElseThrow(() -> new ResourceNotFoundException("Hospital not found for userId: "+userId));
 
-        return modelMapper.map(hospital, HospitalDto.class);
+        return hospitalMapper.toDto(hospital);
     }
 }
\ No newline at end of file
@@ -2,9 +2,9 @@ package com.project.hemolink.user_service.services;
 
 import com.project.hemolink.user_service.entities.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -20,17 +20,19 @@ import java.util.Date;
  * - Token claims extraction
  */
 @Service
-@RequiredArgsConstructor
 public class JwtService {
-    @Value("${jwt.secretKey}")
-    private String jwtSecretKey;
-    private final TokenBlacklistService blacklistService;
+    private final SecretKey secretKey;
+    private final JwtParser jwtParser;
 
     /**
-     * Generates secret key from configured secret string
+     * Builds the signing key and parser once from the configured secret string
+     * @param jwtSecretKey HMAC secret
      */
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+    public JwtService(@Value("${jwt.secretKey}") String jwtSecretKey) {
+        this.secretKey = Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
     }
 
     /**
@@ -51,7 +53,7 @@ public class JwtService {
                 .claim("role", user.getRole().toString())
                 .issuedAt(currentDate)
                 .expiration(expirationDate)
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
@@ -61,9 +63,16 @@ public class JwtService {
      * @return Remaining validity in seconds
      */
     public long getRemainingValidity(String token) {
-        Claims claims = parseTokenClaims(token);
-        Date expiration = claims.getExpiration();
-        return (expiration.getTime() - System.currentTimeMillis()) / 1000;
+        return (parse(token).expiresAt().toEpochMilli() - System.currentTimeMillis()) / 1000;
+    }
+
+    /**
+     * Verifies a token once and reads all the claims callers need from it
+     * @param token JWT token
+     * @return Subject, role, email and expiry of the token
+     */
+    public ParsedToken parse(String token) {
+        return ParsedToken.of(parseTokenClaims(token));
     }
 
     /**
@@ -72,11 +81,7 @@ public class JwtService {
      * @return Token claims
      */
     public Claims parseTokenClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -88,7 +93,7 @@ public class JwtService {
         return Jwts.builder()
                 .subject(user.getId().toString())
                 .issuedAt(new Date())
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
@@ -98,12 +103,7 @@ public class JwtService {
      * @return User ID as string
      */
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return parse(token).subject();
     }
 
     /**
@@ -112,11 +112,6 @@ public class JwtService {
      * @return User role as string
      */
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("role", String.class);
+        return parse(token).role();
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.project.hemolink.user_service.services;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature has been verified
+ * @param subject User ID the token was issued to
+ * @param role User role, null for refresh tokens
+ * @param email User email, null for refresh tokens
+ * @param expiresAt Token expiry, null if the token does not expire
+ */
+public record ParsedToken(String subject, String role, String email, Instant expiresAt) {
+
+    /**
+     * Reads the claims used by the services from a verified token payload
+     * @param claims Verified token claims
+     * @return Parsed token
+     */
+    public static ParsedToken of(Claims claims) {
+        return new ParsedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("email", String.class),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.hemolink.user_service.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Announces donor and hospital profile changes so services caching
+ * user-service lookups can drop their copies.
+ * Messages have the form {@code <donor|hospital>:<profileId>:<userId>}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProfileChangePublisher {
+    /** Channel matching-service listens on */
+    public static final String CHANNEL = "user-profile-changes";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * Publishes a donor profile change once the current transaction commits
+     * @param donorId Donor's unique ID
+     * @param userId Donor's user ID
+     */
+    public void donorChanged(UUID donorId, UUID userId) {
+        publish("donor:" + donorId + ":" + userId);
+    }
+
+    /**
+     * Publishes a hospital profile change once the current transaction commits
+     * @param hospitalId Hospital's unique ID
+     * @param userId Hospital's user ID
+     */
+    public void hospitalChanged(UUID hospitalId, UUID userId) {
+        publish("hospital:" + hospitalId + ":" + userId);
+    }
+
+    private void publish(String message) {
+        Runnable send = () -> {
+            try {
+                redisTemplate.convertAndSend(CHANNEL, message);
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish profile change {}: {}", message, e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.run();
+                }
+            });
+        } else {
+            send.run();
+        }
+    }
+}
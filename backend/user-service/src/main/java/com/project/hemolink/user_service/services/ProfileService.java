@@ -1,21 +1,24 @@
 package com.project.hemolink.user_service.services;
 
 import com.project.hemolink.user_service.auth.UserContextHolder;
+import com.project.hemolink.user_service.config.CacheConfig;
 import com.project.hemolink.user_service.dto.*;
 import com.project.hemolink.user_service.entities.Donor;
 import com.project.hemolink.user_service.entities.Hospital;
 import com.project.hemolink.user_service.entities.User;
 import com.project.hemolink.user_service.entities.enums.UserRole;
 import com.project.hemolink.user_service.exception.*;
+import com.project.hemolink.user_service.mappers.DonorMapper;
+import com.project.hemolink.user_service.mappers.HospitalMapper;
+import com.project.hemolink.user_service.mappers.UserMapper;
 import com.project.hemolink.user_service.repositories.DonorRepository;
 import com.project.hemolink.user_service.repositories.HospitalRepository;
 import com.project.hemolink.user_service.repositories.UserRepository;
 import com.project.hemolink.user_service.utils.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -33,8 +36,14 @@ public class ProfileService {
     private final UserRepository userRepository;
     private final DonorRepository donorRepository;
     private final HospitalRepository hospitalRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
+    private final DonorMapper donorMapper;
+    private final HospitalMapper hospitalMapper;
     private final SecurityUtil securityUtil;
+    private final DonorSpatialIndex donorSpatialIndex;
+    private final UserNearCache userNearCache;
+    private final CacheManager cacheManager;
+    private final ProfileChangePublisher profileChangePublisher;
 
     /**
      * Gets complete profile based on user role
@@ -42,16 +51,14 @@ public class ProfileService {
      */
     public Object getCompleteProfile() {
         try {
-            UUID userId = securityUtil.getCurrentUserId();
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+            UserNearCache.CachedUser user = userNearCache.get(securityUtil.getCurrentUserId());
 
-            log.info("Fetching profile for {}: {}", user.getRole(), user.getEmail());
+            log.info("Fetching profile for {}: {}", user.role(), user.email());
 
-            return switch (user.getRole()) {
+            return switch (user.role()) {
                 case DONOR -> getDonorProfile(user);
                 case HOSPITAL -> getHospitalProfile(user);
-                default -> modelMapper.map(user, UserDto.class);
+                default -> userMapper.toDto(user);
             };
 
         } catch (ResourceNotFoundException e) {
@@ -65,30 +72,29 @@ public class ProfileService {
 
     /**
      * Gets donor profile for user
-     * @param user User entity
+     * @param user Cached user
      * @return Donor DTO
      */
-    public DonorDto getDonorProfile(User user) {
-        Donor donor = donorRepository.findByUser(user)
-                .orElseThrow(() -> new ResourceNotFoundException("Donor not found with email: "+user.getEmail()));
-        return modelMapper.map(donor, DonorDto.class);
+    public DonorDto getDonorProfile(UserNearCache.CachedUser user) {
+        Donor donor = donorRepository.findByUserId(user.id())
+                .orElseThrow(() -> new ResourceNotFoundException("Donor not found with email: "+user.email()));
+        return donorMapper.toDto(donor);
     }
 
     /**
      * Gets hospital profile for user
-     * @param user User entity
+     * @param user Cached user
      * @return Hospital DTO
      */
-    public HospitalDto getHospitalProfile(User user) {
-        Hospital hospital = hospitalRepository.findByUser(user)
-                .orElseThrow(() -> new ResourceNotFoundException("Hospital not found with email: "+user.getEmail()));
-        return modelMapper.map(hospital, HospitalDto.class);
+    public HospitalDto getHospitalProfile(UserNearCache.CachedUser user) {
+        Hospital hospital = hospitalRepository.findByUserId(user.id())
+                .orElseThrow(() -> new ResourceNotFoundException("Hospital not found with email: "+user.email()));
+        return hospitalMapper.toDto(hospital);
     }
 
     /**
      * Deletes user profile and associated data
      */
-    @CacheEvict(value = "userProfiles", key = "'getCompleteProfile:' + T(com.project.hemolink.user_service.auth.UserContextHolder).getCurrentUserId()")
     public void deleteProfile() {
         try {
             String userId = UserContextHolder.getCurrentUserId();
@@ -104,6 +110,7 @@ public class ProfileService {
             }
 
             userRepository.delete(user);
+            userNearCache.evict(user.getId());
             log.info("Profile deleted successfully");
 
         } catch (ResourceNotFoundException e) {
@@ -123,6 +130,10 @@ public class ProfileService {
         Donor donor = donorRepository.findByUser(user)
                 .orElseThrow(() -> new ResourceNotFoundException("Donor not found with email: "+user.getEmail()));
         donorRepository.delete(donor);
+        donorSpatialIndex.remove(donor.getId());
+        evict(CacheConfig.DONORS, donor.getId());
+        evict(CacheConfig.DONORS_BY_USER, user.getId());
+        profileChangePublisher.donorChanged(donor.getId(), user.getId());
     }
 
     /**
@@ -133,5 +144,15 @@ public class ProfileService {
         Hospital hospital = hospitalRepository.findByUser(user)
                 .orElseThrow(() -> new ResourceNotFoundException("Hospital not found with email: "+user.getEmail()));
         hospitalRepository.delete(hospital);
+        evict(CacheConfig.HOSPITALS, hospital.getId());
+        evict(CacheConfig.HOSPITALS_BY_USER, user.getId());
+        profileChangePublisher.hospitalChanged(hospital.getId(), user.getId());
+    }
+
+    private void evict(String cacheName, UUID key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key.toString());
+        }
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -12,10 +16,13 @@ import java.util.concurrent.TimeUnit;
 @Service
 @RequiredArgsConstructor
 public class TokenBlacklistService {
+    /** Channel the gateway listens on to update its revoked token filter */
+    public static final String REVOCATION_CHANNEL = "token-revocations";
+
     private final RedisTemplate<String, String> redisTemplate;
 
     /**
-     * Blacklists a JWT token
+     * Blacklists a JWT token and announces its hash to the gateway
      * @param token Token to blacklist
      * @param expiresInSeconds Time until token expires (in seconds)
      */
@@ -26,6 +33,7 @@ public class TokenBlacklistService {
                 expiresInSeconds,
                 TimeUnit.SECONDS
         );
+        redisTemplate.convertAndSend(REVOCATION_CHANNEL, tokenHash(token));
     }
 
     /**
@@ -36,4 +44,18 @@ public class TokenBlacklistService {
     public boolean isTokenBlacklisted(String token) {
         return redisTemplate.hasKey("blacklist:" + token);
     }
-}
\ No newline at end of file
+
+    /**
+     * Hashes a token the same way the gateway does
+     * @param token JWT token
+     * @return Base64 encoded SHA-256 digest of the token
+     */
+    private static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.project.hemolink.user_service.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.hemolink.user_service.entities.User;
+import com.project.hemolink.user_service.entities.enums.UserRole;
+import com.project.hemolink.user_service.exception.ResourceNotFoundException;
+import com.project.hemolink.user_service.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Short-lived in-process cache of users for read paths that need
+ * database state beyond the token claims. Entries are immutable snapshots, never
+ * entities, so nothing read from here can be modified and saved back; writers load
+ * the managed entity from the repository and evict the user after saving it.
+ */
+@Component
+public class UserNearCache {
+    private final UserRepository userRepository;
+    private final Cache<UUID, CachedUser> users;
+
+    public UserNearCache(UserRepository userRepository,
+                         @Value("${user.near-cache.ttl:30s}") Duration ttl,
+                         @Value("${user.near-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Read-only copy of a user's non-secret fields
+     */
+    public record CachedUser(UUID id, String email, String phone, UserRole role,
+                             LocalDateTime createdAt, boolean profileComplete) {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getEmail(), user.getPhone(), user.getRole(),
+                    user.getCreatedAt(), user.isProfileComplete());
+        }
+    }
+
+    /**
+     * Gets a user, loading it from the database on a miss
+     * @param userId User's unique ID
+     * @return Snapshot of the user
+     * @throws ResourceNotFoundException If user not found
+     */
+    public CachedUser get(UUID userId) {
+        return users.get(userId, id -> userRepository.findById(id)
+                .map(CachedUser::of)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id)));
+    }
+
+    /**
+     * Drops a cached user after it was changed or deleted
+     * @param userId User's unique ID
+     */
+    public void evict(UUID userId) {
+        users.invalidate(userId);
+    }
+}
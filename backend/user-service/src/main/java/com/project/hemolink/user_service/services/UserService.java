@@ -4,11 +4,11 @@ import com.project.hemolink.user_service.dto.SignupRequestDto;
 import com.project.hemolink.user_service.dto.UserDto;
 import com.project.hemolink.user_service.entities.User;
 import com.project.hemolink.user_service.exception.*;
+import com.project.hemolink.user_service.mappers.UserMapper;
 import com.project.hemolink.user_service.repositories.UserRepository;
 import com.project.hemolink.user_service.utils.PasswordUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -33,8 +33,9 @@ import java.util.UUID;
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserNearCache userNearCache;
 
 
     /**
@@ -52,12 +53,12 @@ public class UserService implements UserDetailsService {
                 throw new UserOperationException("User with email " + signupRequestDto.getEmail() + " already exists");
             }
 
-            User toBeCreatedUser = modelMapper.map(signupRequestDto, User.class);
+            User toBeCreatedUser = userMapper.toEntity(signupRequestDto);
             toBeCreatedUser.setPassword(passwordEncoder.encode(signupRequestDto.getPassword()));
 
             User savedUser = userRepository.save(toBeCreatedUser);
             log.info("User registered successfully with email: {}", signupRequestDto.getEmail());
-            return modelMapper.map(savedUser, UserDto.class);
+            return userMapper.toDto(savedUser);
 
         } catch (UserOperationException e) {
             log.error("User operation failed: {}", e.getMessage());
@@ -94,11 +95,10 @@ public class UserService implements UserDetailsService {
     /**
      * Finds user by ID
      * @param userId User's unique ID
-     * @return User entity
+     * @return Cached snapshot of the user
      */
-    public User getUserById(String userId) {
-        return userRepository.findById(UUID.fromString(userId))
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: "+userId));
+    public UserNearCache.CachedUser getUserById(String userId) {
+        return userNearCache.get(UUID.fromString(userId));
     }
 
     /**
@@ -107,7 +107,9 @@ public class UserService implements UserDetailsService {
      * @return Saved user entity
      */
     public User save(User newUser) {
-        return userRepository.save(newUser);
+        User savedUser = userRepository.save(newUser);
+        userNearCache.evict(savedUser.getId());
+        return savedUser;
     }
 
 }
\ No newline at end of file
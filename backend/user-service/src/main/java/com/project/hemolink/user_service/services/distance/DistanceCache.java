@@ -0,0 +1,353 @@
+package com.project.hemolink.user_service.services.distance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Two-tier cache of computed distances keyed by snapped lat/lon cells.
+ * Tier one is a bounded on-heap table of primitive keys (two-way set associative,
+ * least recently used way evicted, per-entry TTL). Tier two is an optional Redis
+ * hash per destination cell, shared between instances.
+ * Tier one entries carry the generation of their destination cell when stored;
+ * invalidating a cell bumps its generation on every instance through a Redis channel,
+ * which retires its entries without scanning the table.
+ * Lookups return {@link Double#NaN} on a miss.
+ */
+@Slf4j
+@Component
+public class DistanceCache {
+    private static final int WAYS = 2;
+    private static final int LOCK_STRIPES = 64;
+    private static final String REDIS_KEY_PREFIX = "distance:dst:";
+    private static final int GENERATION_STRIPES = 4096;
+    /** Channel carrying invalidated destination cells between instances */
+    public static final String INVALIDATION_CHANNEL = "distance-cache-invalidations";
+
+    private final double cellSizeDegrees;
+    private final long ttlMillis;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final boolean redisEnabled;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    // Slot i belongs to set i / WAYS; an expiry of 0 marks an empty slot
+    private final int setMask;
+    private final long[] srcKeys;
+    private final long[] dstKeys;
+    private final double[] values;
+    private final long[] expiresAt;
+    private final long[] slotGenerations;
+    private final byte[] recentWay;
+    // Generation per stripe of destination cells; cells sharing a stripe are invalidated together
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter evictions;
+
+    public DistanceCache(MeterRegistry meterRegistry,
+                         RedisTemplate<String, String> redisTemplate,
+                         RedisMessageListenerContainer listenerContainer,
+                         @Value("${distance.cache.capacity:65536}") int capacity,
+                         @Value("${distance.cache.ttl:24h}") Duration ttl,
+                         @Value("${distance.cache.cell-size-degrees:0.001}") double cellSizeDegrees,
+                         @Value("${distance.cache.redis.enabled:false}") boolean redisEnabled) {
+        int sets = Integer.highestOneBit(Math.max(capacity / WAYS, 1));
+        this.setMask = sets - 1;
+        this.srcKeys = new long[sets * WAYS];
+        this.dstKeys = new long[sets * WAYS];
+        this.values = new double[sets * WAYS];
+        this.expiresAt = new long[sets * WAYS];
+        this.slotGenerations = new long[sets * WAYS];
+        this.recentWay = new byte[sets];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled && redisTemplate != null;
+        this.listenerContainer = listenerContainer;
+
+        this.l1Hits = lookups(meterRegistry, "l1", "hit");
+        this.l1Misses = lookups(meterRegistry, "l1", "miss");
+        this.l2Hits = lookups(meterRegistry, "l2", "hit");
+        this.l2Misses = lookups(meterRegistry, "l2", "miss");
+        this.evictions = Counter.builder("distance.cache.evictions")
+                .description("Live distance cache entries evicted to make room")
+                .tag("tier", "l1")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (listenerContainer != null) {
+            listenerContainer.addMessageListener(
+                    (message, pattern) -> onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    ChannelTopic.of(INVALIDATION_CHANNEL));
+        }
+    }
+
+    /**
+     * Looks up a cached distance
+     * @param src Source location
+     * @param dest Destination location
+     * @return Distance in kilometers, or NaN when not cached
+     */
+    public double get(Point src, Point dest) {
+        return getAll(src, List.of(dest))[0];
+    }
+
+    /**
+     * Looks up cached distances from one source to many destinations,
+     * falling through to Redis for entries missing on-heap
+     * @param src Source location
+     * @param destinations Destination locations
+     * @return Distances in kilometers in destination order, NaN where not cached
+     */
+    public double[] getAll(Point src, List<Point> destinations) {
+        long srcKey = cellKey(src);
+        long now = System.currentTimeMillis();
+        double[] distances = new double[destinations.size()];
+        long[] dstCells = new long[distances.length];
+        int misses = 0;
+        for (int i = 0; i < distances.length; i++) {
+            dstCells[i] = cellKey(destinations.get(i));
+            distances[i] = localGet(srcKey, dstCells[i], now);
+            if (Double.isNaN(distances[i])) {
+                misses++;
+            }
+        }
+        l1Hits.increment(distances.length - misses);
+        l1Misses.increment(misses);
+
+        if (misses > 0 && redisEnabled) {
+            remoteGetAll(srcKey, dstCells, distances, misses, now);
+        }
+        return distances;
+    }
+
+    /**
+     * Stores a computed distance
+     * @param src Source location
+     * @param dest Destination location
+     * @param distanceKm Distance in kilometers
+     */
+    public void put(Point src, Point dest, double distanceKm) {
+        putAll(src, List.of(dest), new double[]{distanceKm});
+    }
+
+    /**
+     * Stores computed distances from one source to many destinations; NaN values are skipped
+     * @param src Source location
+     * @param destinations Destination locations
+     * @param distancesKm Distances in kilometers, in destination order
+     */
+    public void putAll(Point src, List<Point> destinations, double[] distancesKm) {
+        long srcKey = cellKey(src);
+        long expiry = System.currentTimeMillis() + ttlMillis;
+        long[] dstCells = new long[distancesKm.length];
+        for (int i = 0; i < distancesKm.length; i++) {
+            dstCells[i] = cellKey(destinations.get(i));
+            if (!Double.isNaN(distancesKm[i])) {
+                localPut(srcKey, dstCells[i], distancesKm[i], expiry);
+            }
+        }
+        if (redisEnabled) {
+            remotePutAll(srcKey, dstCells, distancesKm);
+        }
+    }
+
+    /**
+     * Drops every cached distance ending in the cell of the given location on all instances,
+     * e.g. after a donor moves
+     * @param dest Destination location
+     */
+    public void invalidateDestination(Point dest) {
+        long dstKey = cellKey(dest);
+        generations.incrementAndGet(stripe(dstKey));
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            if (redisEnabled) {
+                redisTemplate.delete(REDIS_KEY_PREFIX + dstKey);
+            }
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, Long.toString(dstKey));
+        } catch (RuntimeException e) {
+            log.warn("Failed to invalidate distance cache in Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Handles a destination cell invalidated on any instance, including this one
+     */
+    private void onInvalidation(String message) {
+        try {
+            generations.incrementAndGet(stripe(Long.parseLong(message)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed distance cache invalidation {}", message);
+        }
+    }
+
+    private double localGet(long srcKey, long dstKey, long now) {
+        int set = set(srcKey, dstKey);
+        long generation = generations.get(stripe(dstKey));
+        synchronized (lock(set)) {
+            for (int way = 0; way < WAYS; way++) {
+                int slot = set * WAYS + way;
+                if (srcKeys[slot] == srcKey && dstKeys[slot] == dstKey && expiresAt[slot] > now
+                        && slotGenerations[slot] == generation) {
+                    recentWay[set] = (byte) way;
+                    return values[slot];
+                }
+            }
+        }
+        return Double.NaN;
+    }
+
+    private void localPut(long srcKey, long dstKey, double value, long expiry) {
+        int set = set(srcKey, dstKey);
+        long now = System.currentTimeMillis();
+        long generation = generations.get(stripe(dstKey));
+        synchronized (lock(set)) {
+            int target = -1;
+            for (int way = 0; way < WAYS; way++) {
+                int slot = set * WAYS + way;
+                if (expiresAt[slot] != 0 && srcKeys[slot] == srcKey && dstKeys[slot] == dstKey) {
+                    target = way;
+                    break;
+                }
+                if (target < 0 && (expiresAt[slot] <= now
+                        || slotGenerations[slot] != generations.get(stripe(dstKeys[slot])))) {
+                    target = way;
+                }
+            }
+            if (target < 0) {
+                // Both ways hold live entries: replace the one not used most recently
+                target = (recentWay[set] + 1) % WAYS;
+                evictions.increment();
+            }
+            int slot = set * WAYS + target;
+            srcKeys[slot] = srcKey;
+            dstKeys[slot] = dstKey;
+            values[slot] = value;
+            expiresAt[slot] = expiry;
+            slotGenerations[slot] = generation;
+            recentWay[set] = (byte) target;
+        }
+    }
+
+    private void remoteGetAll(long srcKey, long[] dstCells, double[] distances, int misses, long now) {
+        int[] missIndexes = new int[misses];
+        for (int i = 0, m = 0; i < distances.length; i++) {
+            if (Double.isNaN(distances[i])) {
+                missIndexes[m++] = i;
+            }
+        }
+        byte[] field = Long.toString(srcKey).getBytes(StandardCharsets.UTF_8);
+
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int index : missIndexes) {
+                    connection.hashCommands().hGet(redisKey(dstCells[index]), field);
+                }
+                return null;
+            }, StringRedisSerializer.UTF_8);
+        } catch (RuntimeException e) {
+            log.warn("Distance cache lookup in Redis failed: {}", e.getMessage());
+            l2Misses.increment(misses);
+            return;
+        }
+
+        long expiry = now + ttlMillis;
+        int hits = 0;
+        for (int m = 0; m < missIndexes.length; m++) {
+            Object cached = results.get(m);
+            if (cached != null) {
+                int index = missIndexes[m];
+                distances[index] = Double.parseDouble((String) cached);
+                localPut(srcKey, dstCells[index], distances[index], expiry);
+                hits++;
+            }
+        }
+        l2Hits.increment(hits);
+        l2Misses.increment(misses - hits);
+    }
+
+    private void remotePutAll(long srcKey, long[] dstCells, double[] distancesKm) {
+        byte[] field = Long.toString(srcKey).getBytes(StandardCharsets.UTF_8);
+        long ttlSeconds = Math.max(ttlMillis / 1000, 1);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < distancesKm.length; i++) {
+                    if (!Double.isNaN(distancesKm[i])) {
+                        remotePut(connection, redisKey(dstCells[i]), field, distancesKm[i], ttlSeconds);
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Distance cache write to Redis failed: {}", e.getMessage());
+        }
+    }
+
+    private static void remotePut(RedisConnection connection, byte[] key, byte[] field, double value, long ttlSeconds) {
+        connection.hashCommands().hSet(key, field, Double.toString(value).getBytes(StandardCharsets.UTF_8));
+        connection.keyCommands().expire(key, ttlSeconds);
+    }
+
+    private long cellKey(Point point) {
+        long row = (long) Math.floor((point.getY() + 90.0) / cellSizeDegrees);
+        long col = (long) Math.floor((point.getX() + 180.0) / cellSizeDegrees);
+        return (row << 32) | (col & 0xffffffffL);
+    }
+
+    private int set(long srcKey, long dstKey) {
+        long h = srcKey * 0x9E3779B97F4A7C15L + dstKey;
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 32;
+        return (int) h & setMask;
+    }
+
+    private static int stripe(long dstKey) {
+        long h = dstKey * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 52) & (GENERATION_STRIPES - 1);
+    }
+
+    private Object lock(int set) {
+        return locks[set & (LOCK_STRIPES - 1)];
+    }
+
+    private static byte[] redisKey(long dstKey) {
+        return (REDIS_KEY_PREFIX + dstKey).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("distance.cache.lookups")
+                .description("Distance cache lookups by tier and outcome")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.hemolink.user_service.services.distance;
+
+import org.locationtech.jts.geom.Point;
+
+import java.util.List;
+
+/**
+ * Strategy for computing distances between geographic points
+ */
+public interface DistanceProvider {
+
+    /**
+     * @return Name used to select this provider through the distance.provider property
+     */
+    String name();
+
+    /**
+     * Calculates distance between two points
+     * @param src Source location
+     * @param dest Destination location
+     * @return Distance in kilometers
+     */
+    double distanceKm(Point src, Point dest);
+
+    /**
+     * Calculates distances from one source to many destinations
+     * @param src Source location
+     * @param destinations Destination locations
+     * @return Distances in kilometers, in the same order as the destinations
+     */
+    default double[] distancesKm(Point src, List<Point> destinations) {
+        double[] distances = new double[destinations.size()];
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = distanceKm(src, destinations.get(i));
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.hemolink.user_service.services.distance;
+
+import com.project.hemolink.user_service.utils.GeometryUtil;
+import org.locationtech.jts.geom.Point;
+import org.springframework.stereotype.Component;
+
+/**
+ * Great-circle (haversine) distance computed locally, without I/O or allocation
+ */
+@Component
+public class GreatCircleDistanceProvider implements DistanceProvider {
+    public static final String NAME = "great-circle";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public double distanceKm(Point src, Point dest) {
+        return GeometryUtil.haversineKm(src.getY(), src.getX(), dest.getY(), dest.getX());
+    }
+}
@@ -0,0 +1,79 @@
+package com.project.hemolink.user_service.services.distance;
+
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Ranks destinations by great-circle distance and refines only the
+ * closest K with road distances. Falls back to great-circle values
+ * whenever the routing server is unavailable.
+ */
+@Slf4j
+@Component
+public class HybridDistanceProvider implements DistanceProvider {
+    public static final String NAME = "hybrid";
+
+    private final GreatCircleDistanceProvider greatCircle;
+    private final RoadDistanceProvider road;
+    private final int refineTopK;
+
+    public HybridDistanceProvider(GreatCircleDistanceProvider greatCircle,
+                                  RoadDistanceProvider road,
+                                  @Value("${distance.hybrid.refine-top-k:10}") int refineTopK) {
+        this.greatCircle = greatCircle;
+        this.road = road;
+        this.refineTopK = refineTopK;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public double distanceKm(Point src, Point dest) {
+        try {
+            return road.distanceKm(src, dest);
+        } catch (RuntimeException e) {
+            log.warn("Road distance unavailable, using great-circle distance: {}", e.getMessage());
+            return greatCircle.distanceKm(src, dest);
+        }
+    }
+
+    @Override
+    public double[] distancesKm(Point src, List<Point> destinations) {
+        double[] distances = greatCircle.distancesKm(src, destinations);
+        if (refineTopK <= 0 || distances.length == 0) {
+            return distances;
+        }
+
+        // Indices of the K closest destinations by great-circle distance
+        int[] closest = IntStream.range(0, distances.length)
+                .boxed()
+                .sorted((a, b) -> Double.compare(distances[a], distances[b]))
+                .limit(refineTopK)
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        List<Point> refineTargets = new ArrayList<>(closest.length);
+        for (int index : closest) {
+            refineTargets.add(destinations.get(index));
+        }
+
+        try {
+            double[] roadDistances = road.distancesKm(src, refineTargets);
+            for (int i = 0; i < closest.length; i++) {
+                distances[closest[i]] = roadDistances[i];
+            }
+        } catch (RuntimeException e) {
+            log.warn("Road distance unavailable, using great-circle distances: {}", e.getMessage());
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,211 @@
+package com.project.hemolink.user_service.services.distance;
+
+import com.project.hemolink.user_service.utils.GeometryUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Road distance from an OSRM-compatible routing server
+ */
+@Slf4j
+@Component
+public class RoadDistanceProvider implements DistanceProvider {
+    public static final String NAME = "road";
+
+    private final RestClient restClient;
+    private final String profile;
+    private final int tableChunkSize;
+    private final DistanceCache distanceCache;
+    private final long deadlineNanos;
+    private final Semaphore outboundPermits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RoadDistanceProvider(RestClient.Builder restClientBuilder,
+                                DistanceCache distanceCache,
+                                @Value("${distance.osrm.base-url:http://router.project-osrm.org}") String baseUrl,
+                                @Value("${distance.osrm.profile:driving}") String profile,
+                                @Value("${distance.osrm.table-chunk-size:100}") int tableChunkSize,
+                                @Value("${distance.osrm.deadline:2s}") Duration deadline,
+                                @Value("${distance.osrm.max-concurrent-requests:8}") int maxConcurrentRequests) {
+        // Keep ',' and ';' in the coordinate list literal, as OSRM expects
+        DefaultUriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory(baseUrl);
+        uriBuilderFactory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.URI_COMPONENT);
+        this.restClient = restClientBuilder.uriBuilderFactory(uriBuilderFactory).build();
+        this.profile = profile;
+        this.tableChunkSize = Math.max(1, tableChunkSize);
+        this.distanceCache = distanceCache;
+        this.deadlineNanos = deadline.toNanos();
+        this.outboundPermits = new Semaphore(Math.max(1, maxConcurrentRequests));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * Calculates road distance between two geographic points through the table
+     * service, sharing the cache, deadline and great-circle fallback of {@link #distancesKm}
+     * @param src Source location
+     * @param dest Destination location
+     * @return Distance in kilometers
+     */
+    @Override
+    public double distanceKm(Point src, Point dest) {
+        return distancesKm(src, List.of(dest))[0];
+    }
+
+    /**
+     * Calculates road distances from one source to many destinations. Cached
+     * distances are reused; the rest are fetched from the OSRM table service,
+     * one request per chunk of destinations, with chunks fetched in parallel on
+     * virtual threads. Destinations that OSRM cannot route to, or whose chunk
+     * fails or misses the deadline, fall back to great-circle distance.
+     * @param src Source location
+     * @param destinations Destination locations
+     * @return Distances in kilometers, in the same order as the destinations
+     */
+    @Override
+    public double[] distancesKm(Point src, List<Point> destinations) {
+        double[] distances = distanceCache.getAll(src, destinations);
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < distances.length; i++) {
+            if (Double.isNaN(distances[i])) {
+                missing.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            return distances;
+        }
+
+        List<Point> missingDestinations = missing.stream().map(destinations::get).toList();
+        double[] fetched = fetchAll(src, missingDestinations);
+        distanceCache.putAll(src, missingDestinations, fetched);
+
+        for (int m = 0; m < fetched.length; m++) {
+            int index = missing.get(m);
+            distances[index] = Double.isNaN(fetched[m])
+                    ? greatCircleKm(src, destinations.get(index))
+                    : fetched[m];
+        }
+        return distances;
+    }
+
+    /**
+     * Fans chunks out to OSRM on virtual threads, bounded by the outbound permit
+     * count, and waits for them until the shared deadline
+     * @param src Source location
+     * @param destinations Destination locations
+     * @return Distances in kilometers in destination order, NaN where unavailable
+     */
+    private double[] fetchAll(Point src, List<Point> destinations) {
+        long deadline = System.nanoTime() + deadlineNanos;
+        List<Future<double[]>> chunks = new ArrayList<>();
+        for (int from = 0; from < destinations.size(); from += tableChunkSize) {
+            List<Point> chunk = destinations.subList(from, Math.min(from + tableChunkSize, destinations.size()));
+            chunks.add(executor.submit(() -> {
+                if (!outboundPermits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException("No outbound permit before deadline");
+                }
+                try {
+                    return tableDistancesKm(src, chunk);
+                } finally {
+                    outboundPermits.release();
+                }
+            }));
+        }
+
+        double[] fetched = new double[destinations.size()];
+        int failedChunks = 0;
+        for (int c = 0; c < chunks.size(); c++) {
+            int from = c * tableChunkSize;
+            int to = Math.min(from + tableChunkSize, fetched.length);
+            Future<double[]> chunk = chunks.get(c);
+            try {
+                double[] result = chunk.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                System.arraycopy(result, 0, fetched, from, result.length);
+            } catch (TimeoutException | ExecutionException e) {
+                chunk.cancel(true);
+                Arrays.fill(fetched, from, to, Double.NaN);
+                failedChunks++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                chunks.forEach(pending -> pending.cancel(true));
+                Arrays.fill(fetched, from, fetched.length, Double.NaN);
+                break;
+            }
+        }
+        if (failedChunks > 0) {
+            log.warn("{} of {} OSRM table requests failed or timed out, using great-circle distance", failedChunks, chunks.size());
+        }
+        return fetched;
+    }
+
+    /**
+     * Issues a single many-to-one table request
+     * @param src Source location, sent as coordinate index 0
+     * @param destinations Destination locations, sent as coordinate indexes 1..n
+     * @return Distances in kilometers in destination order, NaN where no route exists
+     */
+    private double[] tableDistancesKm(Point src, List<Point> destinations) {
+        StringBuilder coordinates = new StringBuilder()
+                .append(src.getX()).append(',').append(src.getY());
+        for (Point dest : destinations) {
+            coordinates.append(';').append(dest.getX()).append(',').append(dest.getY());
+        }
+
+        OsrmTableResponseDTO response;
+        try {
+            response = restClient.get()
+                    .uri("/table/v1/{profile}/{coordinates}?sources=0&annotations=distance",
+                            profile, coordinates.toString())
+                    .retrieve()
+                    .body(OsrmTableResponseDTO.class);
+        } catch (Exception e) {
+            throw new RuntimeException("OSRM table request failed: " + e.getMessage());
+        }
+        if (response == null || !"Ok".equals(response.getCode())
+                || response.getDistances() == null || response.getDistances().isEmpty()) {
+            throw new RuntimeException("OSRM table request failed: " + (response == null ? "empty response" : response.getCode()));
+        }
+
+        // Row 0 holds distances from the source to every coordinate, including itself at column 0
+        List<Double> row = response.getDistances().get(0);
+        double[] distances = new double[destinations.size()];
+        for (int i = 0; i < distances.length; i++) {
+            Double meters = row.get(i + 1);
+            distances[i] = meters != null ? meters / 1000.0 : Double.NaN; // Convert meters to km
+        }
+        return distances;
+    }
+
+    private static double greatCircleKm(Point src, Point dest) {
+        return GeometryUtil.haversineKm(src.getY(), src.getX(), dest.getY(), dest.getX());
+    }
+}
+
+/**
+ * DTO for OSRM table response
+ */
+@Data
+class OsrmTableResponseDTO {
+    private String code;
+    private List<List<Double>> distances; // Distances in meters, null when no route exists
+}
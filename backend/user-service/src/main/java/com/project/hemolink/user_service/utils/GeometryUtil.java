@@ -9,6 +9,9 @@ import org.locationtech.jts.geom.PrecisionModel;
 
 public class GeometryUtil {
 
+    // Mean earth radius used by PostGIS ST_DistanceSphere
+    public static final double EARTH_RADIUS_KM = 6370.986;
+
     // Converting PointDTO to Point
     public static Point createPoint(PointDTO pointDTO){
 
@@ -17,4 +20,27 @@ public class GeometryUtil {
         return geometryFactory.createPoint(coordinate);
 
     }
+
+    // Great-circle distance in kilometers between two lat/lon pairs (haversine)
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2){
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // Planar radius in degrees around a point at the given latitude that contains every point within
+    // radiusKm of it, with a margin; lets ST_DWithin on SRID 4326 geometry prefilter through a GiST index
+    public static double boundingRadiusDegrees(double lat, double radiusKm){
+        double latDegrees = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double maxLat = Math.abs(lat) + latDegrees;
+        if (maxLat >= 89.0) {
+            return 360.0;
+        }
+        double lonDegrees = latDegrees / Math.cos(Math.toRadians(maxLat));
+        return 1.1 * Math.hypot(latDegrees, lonDegrees);
+    }
 }
@@ -1,5 +1,6 @@
 package com.project.hemolink.user_service.utils;
 
+import com.project.hemolink.user_service.auth.AuthenticatedUser;
 import com.project.hemolink.user_service.entities.User;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,8 +15,12 @@ public class SecurityUtil {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication != null && authentication.isAuthenticated()){
-            User user = (User) authentication.getPrincipal();
-            return user.getId();
+            if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+                return user.id();
+            }
+            if (authentication.getPrincipal() instanceof User user) {
+                return user.getId();
+            }
         }
         throw new RuntimeException("No authenticated user found");
     }
@@ -0,0 +1,50 @@
+-- Schema as previously generated by hibernate ddl-auto; existing databases are baselined at this version
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+CREATE TABLE IF NOT EXISTS app_user (
+    id                  uuid PRIMARY KEY,
+    email               varchar(255) NOT NULL UNIQUE,
+    phone               varchar(255) NOT NULL,
+    password            varchar(255) NOT NULL,
+    role                varchar(255),
+    created_at          timestamp(6),
+    is_profile_complete boolean NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS donors (
+    id              uuid PRIMARY KEY,
+    name            varchar(255),
+    age             integer,
+    address         varchar(255),
+    user_id         uuid UNIQUE REFERENCES app_user (id),
+    blood_type      varchar(255),
+    blood_type_mask smallint,
+    location        geometry(Point, 4326),
+    last_donation   date,
+    is_available    boolean
+);
+
+CREATE TABLE IF NOT EXISTS hospital (
+    id                  uuid PRIMARY KEY,
+    hospital_name       varchar(255),
+    user_id             uuid UNIQUE REFERENCES app_user (id),
+    hospital_type       varchar(255),
+    establishment_year  integer,
+    main_phone_no       varchar(255),
+    emergency_phone_no  varchar(255),
+    website             varchar(255),
+    working_hours       varchar(255),
+    hospital_status     varchar(255),
+    licence_number      varchar(255),
+    service_area        geometry(Point, 4326),
+    address             varchar(255),
+    description         varchar(255),
+    verification_status varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS password_reset_token (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token       varchar(255),
+    user_id     uuid NOT NULL UNIQUE REFERENCES app_user (id),
+    expiry_date timestamp(6)
+);
@@ -0,0 +1,7 @@
+-- Spatial index for the nearby donor search used before the in-memory donor index is loaded
+CREATE INDEX IF NOT EXISTS idx_donors_location
+    ON donors USING gist (location);
+
+-- findByToken on password reset
+CREATE INDEX IF NOT EXISTS idx_password_reset_token_token
+    ON password_reset_token (token);
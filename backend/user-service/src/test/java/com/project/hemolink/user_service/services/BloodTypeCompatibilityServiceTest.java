@@ -0,0 +1,75 @@
+package com.project.hemolink.user_service.services;
+
+import com.project.hemolink.user_service.entities.enums.BloodType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.project.hemolink.user_service.entities.enums.BloodType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloodTypeCompatibilityServiceTest {
+    private static final BloodType[] TYPES = BloodType.values();
+
+    // Rows are recipients, columns donors, both in declaration order:
+    //                                 A+ A- B+ B- AB+ AB- O+ O-
+    private static final String[] TABLE = {
+            "11000011", // A+
+            "01000001", // A-
+            "00110011", // B+
+            "00010001", // B-
+            "11111111", // AB+
+            "01010101", // AB-
+            "00000011", // O+
+            "00000001", // O-
+    };
+
+    private final BloodTypeCompatibilityService service = new BloodTypeCompatibilityService();
+
+    static Stream<Arguments> pairs() {
+        return IntStream.range(0, TYPES.length).boxed().flatMap(recipient -> IntStream.range(0, TYPES.length)
+                .mapToObj(donor -> Arguments.of(TYPES[donor], TYPES[recipient],
+                        TABLE[recipient].charAt(donor) == '1')));
+    }
+
+    @ParameterizedTest(name = "{0} -> {1}: {2}")
+    @MethodSource("pairs")
+    void isCompatible_followsTable(BloodType donor, BloodType recipient, boolean compatible) {
+        assertEquals(compatible, service.isCompatible(donor, recipient));
+        assertEquals(compatible, (service.getCompatibleDonorMask(recipient) & donor.mask()) != 0);
+        assertEquals(compatible, (service.getCompatibleRecipientMask(donor) & recipient.mask()) != 0);
+        assertEquals(compatible, service.getCompatibleBloodTypes(recipient).contains(donor));
+        assertEquals(compatible, service.getCompatibleRecipientTypes(donor).contains(recipient));
+    }
+
+    @Test
+    void compatibilityLists_areInDeclarationOrder() {
+        assertEquals(List.of(A_NEGATIVE, B_NEGATIVE, AB_NEGATIVE, O_NEGATIVE), service.getCompatibleBloodTypes(AB_NEGATIVE));
+        assertEquals(List.of(A_POSITIVE, AB_POSITIVE), service.getCompatibleRecipientTypes(A_POSITIVE));
+    }
+
+    @Test
+    void compatibilityLists_areImmutable() {
+        List<BloodType> donors = service.getCompatibleBloodTypes(A_POSITIVE);
+        List<BloodType> recipients = service.getCompatibleRecipientTypes(O_NEGATIVE);
+
+        assertThrows(UnsupportedOperationException.class, () -> donors.add(AB_POSITIVE));
+        assertThrows(UnsupportedOperationException.class, () -> recipients.clear());
+        assertFalse(service.getCompatibleBloodTypes(A_POSITIVE).contains(AB_POSITIVE));
+    }
+
+    @Test
+    void nullTypes_areIncompatible() {
+        assertFalse(service.isCompatible(null, A_POSITIVE));
+        assertFalse(service.isCompatible(O_NEGATIVE, null));
+        assertEquals(0, service.getCompatibleDonorMask(null));
+        assertEquals(0, service.getCompatibleRecipientMask(null));
+        assertTrue(service.getCompatibleBloodTypes(null).isEmpty());
+        assertTrue(service.getCompatibleRecipientTypes(null).isEmpty());
+    }
+}
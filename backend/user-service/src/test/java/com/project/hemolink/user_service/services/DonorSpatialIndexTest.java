@@ -0,0 +1,220 @@
+package com.project.hemolink.user_service.services;
+
+import com.project.hemolink.user_service.entities.Donor;
+import com.project.hemolink.user_service.entities.enums.BloodType;
+import com.project.hemolink.user_service.repositories.DonorRepository;
+import com.project.hemolink.user_service.repositories.DonorRepository.DonorLocationView;
+import com.project.hemolink.user_service.utils.GeometryUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DonorSpatialIndexTest {
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+    private static final int ALL_TYPES = (1 << BloodType.values().length) - 1;
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate ELIGIBLE_BEFORE = TODAY.minusDays(90);
+
+    private final DonorRepository donorRepository = mock(DonorRepository.class);
+    private DonorSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DonorSpatialIndex(donorRepository, mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(index, "cellSizeDegrees", 0.1);
+        ReflectionTestUtils.setField(index, "loadPageSize", 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findNearby_returnsDonorsWithinRadiusClosestFirst() {
+        Donor far = donor(BloodType.O_NEGATIVE, 77.05, 28.0);
+        Donor near = donor(BloodType.O_NEGATIVE, 77.01, 28.0);
+        index.index(far);
+        index.index(near);
+
+        List<DonorSpatialIndex.NearbyDonor> nearby = index.findNearby(point(77.0, 28.0), ALL_TYPES, 50, ELIGIBLE_BEFORE, 10);
+
+        assertEquals(List.of(near.getId(), far.getId()), ids(nearby));
+        assertEquals(GeometryUtil.haversineKm(28.0, 77.0, 28.0, 77.01), nearby.getFirst().distanceKm(), 1e-9);
+    }
+
+    @Test
+    void findNearby_findsDonorsAcrossCellBoundaries() {
+        // Query and donors sit on either side of cell edges at 0.1 degree multiples and the antimeridian
+        Donor east = donor(BloodType.A_POSITIVE, 77.1001, 28.0999);
+        Donor north = donor(BloodType.A_POSITIVE, 77.0999, 28.1001);
+        Donor acrossAntimeridian = donor(BloodType.A_POSITIVE, -179.9999, 10.0);
+        index.index(east);
+        index.index(north);
+        index.index(acrossAntimeridian);
+
+        assertEquals(List.of(east.getId(), north.getId()),
+                ids(index.findNearby(point(77.0999, 28.0999), ALL_TYPES, 5, ELIGIBLE_BEFORE, 10)));
+        assertEquals(List.of(acrossAntimeridian.getId()),
+                ids(index.findNearby(point(179.9999, 10.0), ALL_TYPES, 5, ELIGIBLE_BEFORE, 10)));
+    }
+
+    @Test
+    void findNearby_filtersByBloodTypeMask() {
+        Donor oNegative = donor(BloodType.O_NEGATIVE, 77.0, 28.0);
+        Donor aPositive = donor(BloodType.A_POSITIVE, 77.0, 28.0);
+        Donor bPositive = donor(BloodType.B_POSITIVE, 77.0, 28.0);
+        index.index(oNegative);
+        index.index(aPositive);
+        index.index(bPositive);
+
+        int mask = BloodType.O_NEGATIVE.mask() | BloodType.A_POSITIVE.mask();
+        List<UUID> found = ids(index.findNearby(point(77.0, 28.0), mask, 10, ELIGIBLE_BEFORE, 10));
+
+        assertEquals(2, found.size());
+        assertTrue(found.containsAll(List.of(oNegative.getId(), aPositive.getId())));
+        assertTrue(index.findNearby(point(77.0, 28.0), 0, 10, ELIGIBLE_BEFORE, 10).isEmpty());
+    }
+
+    @Test
+    void findNearby_cutsAtRadiusAndLimit() {
+        // 0.1 degree of latitude is about 11.1 km
+        Donor inside = donor(BloodType.O_POSITIVE, 77.0, 28.08);
+        Donor outside = donor(BloodType.O_POSITIVE, 77.0, 28.1);
+        index.index(inside);
+        index.index(outside);
+
+        assertEquals(List.of(inside.getId()), ids(index.findNearby(point(77.0, 28.0), ALL_TYPES, 10, ELIGIBLE_BEFORE, 10)));
+        assertEquals(List.of(inside.getId()), ids(index.findNearby(point(77.0, 28.0), ALL_TYPES, 20, ELIGIBLE_BEFORE, 1)));
+        assertTrue(index.findNearby(point(77.0, 28.0), ALL_TYPES, 20, ELIGIBLE_BEFORE, 0).isEmpty());
+    }
+
+    @Test
+    void findNearby_skipsDonorsWhoDonatedRecently() {
+        Donor recent = donor(BloodType.O_POSITIVE, 77.0, 28.0);
+        recent.setLastDonation(TODAY.minusDays(10));
+        Donor rested = donor(BloodType.O_POSITIVE, 77.0, 28.0);
+        rested.setLastDonation(TODAY.minusDays(120));
+        index.index(recent);
+        index.index(rested);
+
+        assertEquals(List.of(rested.getId()), ids(index.findNearby(point(77.0, 28.0), ALL_TYPES, 10, ELIGIBLE_BEFORE, 10)));
+    }
+
+    @Test
+    void index_movesDonorToNewLocation() {
+        Donor donor = donor(BloodType.O_POSITIVE, 77.0, 28.0);
+        index.index(donor);
+        donor.setLocation(point(78.0, 29.0));
+        index.index(donor);
+
+        assertTrue(index.findNearby(point(77.0, 28.0), ALL_TYPES, 10, ELIGIBLE_BEFORE, 10).isEmpty());
+        assertEquals(List.of(donor.getId()), ids(index.findNearby(point(78.0, 29.0), ALL_TYPES, 10, ELIGIBLE_BEFORE, 10)));
+    }
+
+    @Test
+    void index_removesDonorTurnedUnavailableAfterCommit() {
+        Donor donor = donor(BloodType.O_POSITIVE, 77.0, 28.0);
+        index.index(donor);
+
+        TransactionSynchronizationManager.initSynchronization();
+        donor.setIsAvailable(false);
+        index.index(donor);
+        assertEquals(1, index.findNearby(point(77.0, 28.0), ALL_TYPES, 10, ELIGIBLE_BEFORE, 10).size(),
+                "change must wait for commit");
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        assertTrue(index.findNearby(point(77.0, 28.0), ALL_TYPES, 10, ELIGIBLE_BEFORE, 10).isEmpty());
+    }
+
+    @Test
+    void remove_dropsDonorAfterCommit() {
+        Donor donor = donor(BloodType.O_POSITIVE, 77.0, 28.0);
+        index.index(donor);
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.remove(donor.getId());
+        assertFalse(index.findNearby(point(77.0, 28.0), ALL_TYPES, 10, ELIGIBLE_BEFORE, 10).isEmpty());
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        assertTrue(index.findNearby(point(77.0, 28.0), ALL_TYPES, 10, ELIGIBLE_BEFORE, 10).isEmpty());
+    }
+
+    @Test
+    void refresh_appliesDatabaseState() {
+        Donor donor = donor(BloodType.O_POSITIVE, 77.0, 28.0);
+        index.index(donor);
+
+        when(donorRepository.findAvailableDonorLocation(donor.getId()))
+                .thenReturn(Optional.of(view(donor.getId(), BloodType.O_POSITIVE, point(78.0, 29.0))));
+        index.refresh(donor.getId());
+        assertTrue(index.findNearby(point(77.0, 28.0), ALL_TYPES, 10, ELIGIBLE_BEFORE, 10).isEmpty());
+        assertEquals(List.of(donor.getId()), ids(index.findNearby(point(78.0, 29.0), ALL_TYPES, 10, ELIGIBLE_BEFORE, 10)));
+
+        when(donorRepository.findAvailableDonorLocation(donor.getId())).thenReturn(Optional.empty());
+        index.refresh(donor.getId());
+        assertTrue(index.findNearby(point(78.0, 29.0), ALL_TYPES, 10, ELIGIBLE_BEFORE, 10).isEmpty());
+    }
+
+    private static Donor donor(BloodType bloodType, double lon, double lat) {
+        Donor donor = new Donor();
+        donor.setId(UUID.randomUUID());
+        donor.setBloodType(bloodType);
+        donor.setLocation(point(lon, lat));
+        donor.setIsAvailable(true);
+        return donor;
+    }
+
+    private static DonorLocationView view(UUID id, BloodType bloodType, Point location) {
+        return new DonorLocationView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public BloodType getBloodType() {
+                return bloodType;
+            }
+
+            @Override
+            public Point getLocation() {
+                return location;
+            }
+
+            @Override
+            public LocalDate getLastDonation() {
+                return null;
+            }
+        };
+    }
+
+    private static Point point(double lon, double lat) {
+        return GEOMETRY_FACTORY.createPoint(new Coordinate(lon, lat));
+    }
+
+    private static List<UUID> ids(List<DonorSpatialIndex.NearbyDonor> nearby) {
+        return nearby.stream().map(DonorSpatialIndex.NearbyDonor::id).toList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.project.hemolink.user_service.services.distance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class DistanceCacheTest {
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+
+    private final Point source = point(77.0, 28.0);
+    private final Point moved = point(77.1, 28.1);
+    private final Point unchanged = point(77.2, 28.2);
+
+    @Test
+    void putAll_servesDistancesFromMemory() {
+        DistanceCache cache = cache(null, null);
+
+        cache.putAll(source, List.of(moved, unchanged), new double[]{1.5, Double.NaN});
+
+        assertArrayEquals(new double[]{1.5, Double.NaN}, cache.getAll(source, List.of(moved, unchanged)), 0.0);
+    }
+
+    @Test
+    void invalidateDestination_dropsOnlyDistancesEndingInThatCell() {
+        DistanceCache cache = cache(null, null);
+        cache.putAll(source, List.of(moved, unchanged), new double[]{1.5, 2.5});
+        cache.put(point(76.0, 27.0), moved, 9.5);
+
+        cache.invalidateDestination(moved);
+
+        assertTrue(Double.isNaN(cache.get(source, moved)));
+        assertTrue(Double.isNaN(cache.get(point(76.0, 27.0), moved)));
+        assertEquals(2.5, cache.get(source, unchanged));
+
+        cache.put(source, moved, 1.7);
+        assertEquals(1.7, cache.get(source, moved));
+    }
+
+    @Test
+    void invalidateDestination_reachesOtherInstances() {
+        @SuppressWarnings("unchecked")
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        DistanceCache local = cache(redisTemplate, null);
+        DistanceCache remote = cache(null, container);
+        remote.subscribe();
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(container).addMessageListener(listener.capture(), eq(ChannelTopic.of(DistanceCache.INVALIDATION_CHANNEL)));
+        remote.putAll(source, List.of(moved, unchanged), new double[]{1.5, 2.5});
+
+        local.invalidateDestination(moved);
+        ArgumentCaptor<String> cell = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(DistanceCache.INVALIDATION_CHANNEL), cell.capture());
+        listener.getValue().onMessage(new DefaultMessage(
+                DistanceCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                cell.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(Double.isNaN(remote.get(source, moved)));
+        assertEquals(2.5, remote.get(source, unchanged));
+    }
+
+    @Test
+    void invalidateDestination_deletesSharedTierWhenEnabled() {
+        @SuppressWarnings("unchecked")
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        DistanceCache cache = new DistanceCache(new SimpleMeterRegistry(), redisTemplate, null,
+                1024, Duration.ofHours(1), 0.001, true);
+
+        cache.invalidateDestination(moved);
+
+        verify(redisTemplate).delete(any(String.class));
+    }
+
+    private static DistanceCache cache(RedisTemplate<String, String> redisTemplate,
+                                       RedisMessageListenerContainer container) {
+        return new DistanceCache(new SimpleMeterRegistry(), redisTemplate, container,
+                1024, Duration.ofHours(1), 0.001, false);
+    }
+
+    private static Point point(double x, double y) {
+        return GEOMETRY_FACTORY.createPoint(new Coordinate(x, y));
+    }
+}
@@ -0,0 +1,139 @@
+package com.project.hemolink.user_service.services.distance;
+
+import com.project.hemolink.user_service.utils.GeometryUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RoadDistanceProviderTest {
+    private static final String BASE_URL = "http://osrm.local";
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+
+    private MockRestServiceServer server;
+    private RoadDistanceProvider provider;
+
+    private final Point source = point(77.0, 28.0);
+    private final List<Point> destinations = List.of(
+            point(77.1, 28.1),
+            point(77.2, 28.2),
+            point(77.3, 28.3)
+    );
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).ignoreExpectOrder(true).build();
+        DistanceCache cache = new DistanceCache(new SimpleMeterRegistry(), null, null, 1024, Duration.ofHours(1), 0.001, false);
+        provider = new RoadDistanceProvider(builder, cache, BASE_URL, "driving", 2, Duration.ofSeconds(5), 4);
+    }
+
+    @Test
+    void distancesKm_chunksDestinationsIntoTableRequests() {
+        server.expect(requestTo(BASE_URL + "/table/v1/driving/77.0,28.0;77.1,28.1;77.2,28.2?sources=0&annotations=distance"))
+                .andRespond(withSuccess("{\"code\":\"Ok\",\"distances\":[[0,1500,2500]]}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/table/v1/driving/77.0,28.0;77.3,28.3?sources=0&annotations=distance"))
+                .andRespond(withSuccess("{\"code\":\"Ok\",\"distances\":[[0,3500]]}", MediaType.APPLICATION_JSON));
+
+        double[] distances = provider.distancesKm(source, destinations);
+
+        assertArrayEquals(new double[]{1.5, 2.5, 3.5}, distances, 1e-9);
+        server.verify();
+    }
+
+    @Test
+    void distanceKm_usesTableServiceAndFallsBackToGreatCircle() {
+        server.expect(requestTo(BASE_URL + "/table/v1/driving/77.0,28.0;77.1,28.1?sources=0&annotations=distance"))
+                .andRespond(withSuccess("{\"code\":\"Ok\",\"distances\":[[0,1500]]}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/table/v1/driving/77.0,28.0;77.2,28.2?sources=0&annotations=distance"))
+                .andRespond(withServerError());
+
+        assertEquals(1.5, provider.distanceKm(source, destinations.get(0)), 1e-9);
+        assertEquals(GeometryUtil.haversineKm(28.0, 77.0, 28.2, 77.2), provider.distanceKm(source, destinations.get(1)), 1e-9);
+        server.verify();
+    }
+
+    @Test
+    void distancesKm_onlyRequestsDestinationsMissingFromCache() {
+        server.expect(requestTo(BASE_URL + "/table/v1/driving/77.0,28.0;77.1,28.1?sources=0&annotations=distance"))
+                .andRespond(withSuccess("{\"code\":\"Ok\",\"distances\":[[0,1500]]}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/table/v1/driving/77.0,28.0;77.2,28.2?sources=0&annotations=distance"))
+                .andRespond(withSuccess("{\"code\":\"Ok\",\"distances\":[[0,2500]]}", MediaType.APPLICATION_JSON));
+
+        provider.distancesKm(source, destinations.subList(0, 1));
+        double[] distances = provider.distancesKm(source, destinations.subList(0, 2));
+
+        assertArrayEquals(new double[]{1.5, 2.5}, distances, 1e-9);
+        server.verify();
+    }
+
+    @Test
+    void distancesKm_fallsBackToGreatCircleWhenNoRoute() {
+        server.expect(requestTo(BASE_URL + "/table/v1/driving/77.0,28.0;77.1,28.1;77.2,28.2?sources=0&annotations=distance"))
+                .andRespond(withSuccess("{\"code\":\"Ok\",\"distances\":[[0,null,2500]]}", MediaType.APPLICATION_JSON));
+
+        double[] distances = provider.distancesKm(source, destinations.subList(0, 2));
+
+        assertEquals(GeometryUtil.haversineKm(28.0, 77.0, 28.1, 77.1), distances[0], 1e-9);
+        assertEquals(2.5, distances[1], 1e-9);
+    }
+
+    @Test
+    void distancesKm_fallsBackToGreatCircleForFailedChunks() {
+        server.expect(requestTo(BASE_URL + "/table/v1/driving/77.0,28.0;77.1,28.1;77.2,28.2?sources=0&annotations=distance"))
+                .andRespond(withServerError());
+        server.expect(requestTo(BASE_URL + "/table/v1/driving/77.0,28.0;77.3,28.3?sources=0&annotations=distance"))
+                .andRespond(withSuccess("{\"code\":\"Ok\",\"distances\":[[0,3500]]}", MediaType.APPLICATION_JSON));
+
+        double[] distances = provider.distancesKm(source, destinations);
+
+        assertEquals(GeometryUtil.haversineKm(28.0, 77.0, 28.1, 77.1), distances[0], 1e-9);
+        assertEquals(GeometryUtil.haversineKm(28.0, 77.0, 28.2, 77.2), distances[1], 1e-9);
+        assertEquals(3.5, distances[2], 1e-9);
+        server.verify();
+    }
+
+    @Test
+    void distancesKm_fallsBackToGreatCircleWhenDeadlinePasses() {
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer slowServer = MockRestServiceServer.bindTo(builder).build();
+        DistanceCache cache = new DistanceCache(new SimpleMeterRegistry(), null, null, 1024, Duration.ofHours(1), 0.001, false);
+        RoadDistanceProvider slowProvider = new RoadDistanceProvider(builder, cache, BASE_URL, "driving", 2, Duration.ofMillis(50), 4);
+        slowServer.expect(requestTo(BASE_URL + "/table/v1/driving/77.0,28.0;77.1,28.1?sources=0&annotations=distance"))
+                .andRespond(request -> {
+                    try {
+                        Thread.sleep(1000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withSuccess("{\"code\":\"Ok\",\"distances\":[[0,1500]]}", MediaType.APPLICATION_JSON).createResponse(request);
+                });
+
+        long start = System.currentTimeMillis();
+        double[] distances = slowProvider.distancesKm(source, destinations.subList(0, 1));
+
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        assertEquals(GeometryUtil.haversineKm(28.0, 77.0, 28.1, 77.1), distances[0], 1e-9);
+        slowProvider.shutdown();
+    }
+
+    private static Point point(double lon, double lat) {
+        return GEOMETRY_FACTORY.createPoint(new Coordinate(lon, lat));
+    }
+}